@@ -0,0 +1,45 @@
+package benchmarks;
+
+import org.intigral.assignment.models.Booking;
+import org.intigral.assignment.models.BookingDates;
+
+/**
+ * Sample payloads shared by the benchmarks, matching what {@code BookingTest} sends and receives.
+ */
+final class BenchmarkData {
+
+    /**
+     * Body of a {@code POST /booking} response.
+     */
+    static final String CREATE_RESPONSE = "{\"bookingid\":1234,\"booking\":{\"firstname\":\"testFirstName\","
+            + "\"lastname\":\"lastName\",\"totalprice\":10.11,\"depositpaid\":true,"
+            + "\"bookingdates\":{\"checkin\":\"2022-01-01\",\"checkout\":\"2024-01-01\"},"
+            + "\"additionalneeds\":\"testAdd\"}}";
+
+    /**
+     * Body of a {@code GET /booking/{id}} response.
+     */
+    static final String GET_RESPONSE = "{\"firstname\":\"testFirstName\",\"lastname\":\"lastName\","
+            + "\"totalprice\":10.11,\"depositpaid\":true,"
+            + "\"bookingdates\":{\"checkin\":\"2022-01-01\",\"checkout\":\"2024-01-01\"},"
+            + "\"additionalneeds\":\"testAdd\"}";
+
+    private BenchmarkData() {
+    }
+
+    /**
+     * Builds the valid booking used by {@code BookingTest#addBooking}.
+     *
+     * @return a populated booking.
+     */
+    static Booking booking() {
+        Booking booking = new Booking();
+        booking.setFirstname("testFirstName");
+        booking.setLastname("lastName");
+        booking.setTotalprice(10.11);
+        booking.setDepositpaid(true);
+        booking.setBookingdates(new BookingDates("2022-01-01", "2024-01-01"));
+        booking.setAdditionalneeds("testAdd");
+        return booking;
+    }
+}
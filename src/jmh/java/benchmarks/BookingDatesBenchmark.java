@@ -0,0 +1,53 @@
+package benchmarks;
+
+import org.intigral.assignment.models.BookingDates;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link BookingDates} validation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingDatesBenchmark {
+
+    private BookingDates bookingDates;
+
+    @Setup
+    public void setup() {
+        bookingDates = new BookingDates("2022-01-01", "2024-01-01");
+    }
+
+    /**
+     * Range check on an existing instance.
+     */
+    @Benchmark
+    public boolean isDateRangeValid() {
+        return bookingDates.isDateRangeValid();
+    }
+
+    /**
+     * Setter validation of both dates followed by the range check.
+     */
+    @Benchmark
+    public boolean setAndValidate() {
+        BookingDates dates = new BookingDates();
+        dates.setCheckin("2022-01-01");
+        dates.setCheckout("2024-01-01");
+        return dates.isDateRangeValid();
+    }
+}
@@ -0,0 +1,84 @@
+package benchmarks;
+
+import com.google.gson.Gson;
+import io.restassured.RestAssured;
+import io.restassured.internal.mapping.Jackson2Mapper;
+import io.restassured.internal.mapping.ObjectMapperSerializationContextImpl;
+import org.intigral.assignment.models.Booking;
+import org.intigral.assignment.models.BookingCodec;
+import org.intigral.assignment.utils.JsonByteWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the cost of turning a {@link Booking} into a JSON request body.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BookingSerializationBenchmark {
+
+    private Booking booking;
+    private Gson gson;
+    private Jackson2Mapper restAssuredMapper;
+    private JsonByteWriter buffer;
+
+    @Setup
+    public void setup() {
+        booking = BenchmarkData.booking();
+        gson = new Gson();
+        restAssuredMapper = new Jackson2Mapper(
+                RestAssured.config().getObjectMapperConfig().jackson2ObjectMapperFactory());
+        buffer = new JsonByteWriter(256);
+    }
+
+    /**
+     * Reflective Gson mapping.
+     */
+    @Benchmark
+    public String gsonToJson() {
+        return gson.toJson(booking);
+    }
+
+    /**
+     * The Jackson 2 mapping RestAssured applies to {@code body(booking)} with a JSON content type.
+     */
+    @Benchmark
+    public Object restAssuredJackson2() {
+        ObjectMapperSerializationContextImpl context = new ObjectMapperSerializationContextImpl();
+        context.setObject(booking);
+        context.setContentType("application/json");
+        context.setCharset("UTF-8");
+        return restAssuredMapper.serialize(context);
+    }
+
+    /**
+     * Reflection-free codec writing into a reused buffer, without copying the result.
+     */
+    @Benchmark
+    public int codecToReusableBuffer() {
+        BookingCodec.write(booking, buffer.reset());
+        return buffer.size();
+    }
+
+    /**
+     * Reflection-free codec producing a {@code byte[]} request body.
+     */
+    @Benchmark
+    public byte[] codecToBytes() {
+        return BookingCodec.toBytes(booking);
+    }
+}
@@ -0,0 +1,75 @@
+package benchmarks;
+
+import io.restassured.path.json.JsonPath;
+import org.intigral.assignment.models.BookingResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the field extraction {@code BookingTest} performs with {@code response.jsonPath()},
+ * which builds a new {@link JsonPath} over the body on every call, against parsing the body
+ * once into a {@link BookingResponse}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ResponseParsingBenchmark {
+
+    private byte[] createResponse;
+
+    @Setup
+    public void setup() {
+        createResponse = BenchmarkData.CREATE_RESPONSE.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * {@code response.jsonPath().getInt("bookingid")} on a create response.
+     */
+    @Benchmark
+    public int jsonPathBookingId() {
+        return new JsonPath(BenchmarkData.CREATE_RESPONSE).getInt("bookingid");
+    }
+
+    /**
+     * {@code response.jsonPath().getString("firstname")} on a get response.
+     */
+    @Benchmark
+    public String jsonPathFirstname() {
+        return new JsonPath(BenchmarkData.GET_RESPONSE).getString("firstname");
+    }
+
+    /**
+     * ID, first name and last name of a create response with one {@code jsonPath()} call each.
+     */
+    @Benchmark
+    public int jsonPathCreateFields() {
+        return new JsonPath(BenchmarkData.CREATE_RESPONSE).getInt("bookingid")
+                + new JsonPath(BenchmarkData.CREATE_RESPONSE).getString("booking.firstname").length()
+                + new JsonPath(BenchmarkData.CREATE_RESPONSE).getString("booking.lastname").length();
+    }
+
+    /**
+     * The same three fields from a single {@link BookingResponse} parse.
+     */
+    @Benchmark
+    public int bookingResponseCreateFields() {
+        BookingResponse response = BookingResponse.parse(createResponse);
+        return response.bookingId()
+                + response.booking().getFirstname().length()
+                + response.booking().getLastname().length();
+    }
+}
@@ -0,0 +1,55 @@
+package benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
+import static org.intigral.assignment.utils.SchemaRegistry.matchesSchema;
+
+/**
+ * Measures {@code matchesJsonSchemaInClasspath("booking_schema.json")} as used by
+ * {@code BookingTest#validateBookingResponseSchema} before the schema registry, including loading
+ * the schema on each call, against the precompiled {@code SchemaRegistry} matcher.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchemaValidationBenchmark {
+
+    private byte[] body;
+
+    @Setup
+    public void setup() {
+        body = BenchmarkData.GET_RESPONSE.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Builds the matcher and validates a get response, as each assertion does.
+     */
+    @Benchmark
+    public boolean matchesJsonSchemaInClasspathPerCall() {
+        return matchesJsonSchemaInClasspath("booking_schema.json").matches(BenchmarkData.GET_RESPONSE);
+    }
+
+    /**
+     * Validates the raw body bytes with the precompiled registry matcher.
+     */
+    @Benchmark
+    public boolean schemaRegistryFromBytes() {
+        return matchesSchema("booking_schema.json").matches(body);
+    }
+}
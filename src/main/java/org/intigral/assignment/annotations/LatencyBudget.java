@@ -0,0 +1,47 @@
+package org.intigral.assignment.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Declares the p95 latency a test method allows for one endpoint. It overrides the
+ * {@code latencyBudgets} configuration for that endpoint, and the test fails when the calls it
+ * made to the endpoint exceed the budget.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Repeatable(LatencyBudget.List.class)
+public @interface LatencyBudget {
+
+    /**
+     * The endpoint, as method and path template, e.g. {@code POST /booking} or {@code GET /booking/{id}}.
+     *
+     * @return the endpoint key.
+     */
+    String endpoint();
+
+    /**
+     * The highest allowed 95th percentile latency.
+     *
+     * @return the budget in milliseconds.
+     */
+    long p95Millis();
+
+    /**
+     * Container for repeated {@link LatencyBudget} annotations.
+     */
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.METHOD)
+    @interface List {
+
+        /**
+         * The repeated budgets.
+         *
+         * @return the budgets.
+         */
+        LatencyBudget[] value();
+    }
+}
@@ -0,0 +1,333 @@
+package org.intigral.assignment.cassette;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Read-only, memory-mapped cassette of recorded HTTP exchanges.
+ * <p>
+ * File layout (big-endian): magic {@code BKCS}, version, entry count, then an index of
+ * {@code (long keyHash, int offset)} pairs sorted by hash and recording order, then the records.
+ * Each record holds the key, track, status, status line, headers and body, every string and blob
+ * prefixed by its length. Records follow the index in recording order. Lookups binary-search the mapped index and compare keys in place,
+ * using absolute reads only, so one cassette can be shared by any number of threads.
+ */
+public final class Cassette {
+
+    /**
+     * File magic.
+     */
+    private static final int MAGIC = 0x424B4353;
+
+    /**
+     * File format version.
+     */
+    private static final int VERSION = 2;
+
+    /**
+     * Size of the file header.
+     */
+    private static final int HEADER_BYTES = 12;
+
+    /**
+     * Size of one index entry.
+     */
+    private static final int INDEX_ENTRY_BYTES = 12;
+
+    /**
+     * The mapped file.
+     */
+    private final MappedByteBuffer buffer;
+
+    /**
+     * Number of recorded exchanges.
+     */
+    private final int count;
+
+    /**
+     * Maps a cassette file.
+     *
+     * @param buffer The mapped file.
+     * @param count  Number of recorded exchanges.
+     */
+    private Cassette(MappedByteBuffer buffer, int count) {
+        this.buffer = buffer;
+        this.count = count;
+    }
+
+    /**
+     * Opens and maps a cassette file.
+     *
+     * @param path The cassette file.
+     * @return the cassette.
+     * @throws UncheckedIOException     if the file cannot be read.
+     * @throws IllegalArgumentException if the file is not a cassette.
+     */
+    public static Cassette open(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+                throw new IllegalArgumentException("Not a version " + VERSION + " cassette: " + path);
+            }
+            return new Cassette(buffer, buffer.getInt(8));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to open cassette: " + path, e);
+        }
+    }
+
+    /**
+     * Writes exchanges to a cassette file, replacing it. Exchanges with the same key are
+     * replayed in the order given.
+     *
+     * @param path      The cassette file.
+     * @param exchanges The exchanges in recording order.
+     * @throws UncheckedIOException if the file cannot be written.
+     */
+    public static void write(Path path, List<RecordedExchange> exchanges) {
+        int size = exchanges.size();
+        long[] hashes = new long[size];
+        byte[][] records = new byte[size][];
+        for (int i = 0; i < size; i++) {
+            hashes[i] = hash(exchanges.get(i).key().getBytes(StandardCharsets.UTF_8));
+            records[i] = encode(exchanges.get(i));
+        }
+        Integer[] sorted = new Integer[size];
+        for (int i = 0; i < size; i++) {
+            sorted[i] = i;
+        }
+        // Stable sort keeps recording order among equal keys
+        Arrays.sort(sorted, (a, b) -> Long.compare(hashes[a], hashes[b]));
+
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            try (OutputStream file = Files.newOutputStream(path);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(size);
+                int offset = HEADER_BYTES + size * INDEX_ENTRY_BYTES;
+                int[] offsets = new int[size];
+                for (int i = 0; i < size; i++) {
+                    offsets[i] = offset;
+                    offset = Math.addExact(offset, records[i].length);
+                }
+                for (int i : sorted) {
+                    out.writeLong(hashes[i]);
+                    out.writeInt(offsets[i]);
+                }
+                for (byte[] record : records) {
+                    out.write(record);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write cassette: " + path, e);
+        }
+    }
+
+    /**
+     * Gets the number of recorded exchanges.
+     *
+     * @return the count.
+     */
+    public int size() {
+        return count;
+    }
+
+    /**
+     * Finds the recorded responses to a request key.
+     *
+     * @param key The request key.
+     * @return the responses in recording order, empty if the key was not recorded.
+     */
+    public List<RecordedExchange> find(String key) {
+        byte[] keyBytes = key.getBytes(StandardCharsets.UTF_8);
+        long hash = hash(keyBytes);
+        int low = 0;
+        int high = count - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (indexHash(mid) < hash) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        List<RecordedExchange> matches = new ArrayList<>(1);
+        for (int i = low; i < count && indexHash(i) == hash; i++) {
+            int offset = buffer.getInt(HEADER_BYTES + i * INDEX_ENTRY_BYTES + 8);
+            if (keyEquals(offset, keyBytes)) {
+                matches.add(decode(offset));
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Passes every recorded exchange to an action, in recording order.
+     *
+     * @param action The action.
+     */
+    public void forEach(Consumer<RecordedExchange> action) {
+        int[] position = {HEADER_BYTES + count * INDEX_ENTRY_BYTES};
+        for (int i = 0; i < count; i++) {
+            action.accept(decode(position));
+        }
+    }
+
+    /**
+     * Reads the key hash of an index entry.
+     *
+     * @param entry The index position.
+     * @return the hash.
+     */
+    private long indexHash(int entry) {
+        return buffer.getLong(HEADER_BYTES + entry * INDEX_ENTRY_BYTES);
+    }
+
+    /**
+     * Compares the key of a record with a key, without copying it.
+     *
+     * @param offset   The record offset.
+     * @param keyBytes The key to compare.
+     * @return {@code true} if they are equal.
+     */
+    private boolean keyEquals(int offset, byte[] keyBytes) {
+        if (buffer.getInt(offset) != keyBytes.length) {
+            return false;
+        }
+        int start = offset + 4;
+        for (int i = 0; i < keyBytes.length; i++) {
+            if (buffer.get(start + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Decodes a record.
+     *
+     * @param offset The record offset.
+     * @return the exchange.
+     */
+    private RecordedExchange decode(int offset) {
+        return decode(new int[]{offset});
+    }
+
+    /**
+     * Decodes the record at a position.
+     *
+     * @param position The record offset, advanced past the record.
+     * @return the exchange.
+     */
+    private RecordedExchange decode(int[] position) {
+        String key = readString(position);
+        String track = readString(position);
+        int status = buffer.getInt(position[0]);
+        position[0] += 4;
+        String statusLine = readString(position);
+        int headerCount = buffer.getInt(position[0]);
+        position[0] += 4;
+        List<String> headers = new ArrayList<>(headerCount);
+        for (int i = 0; i < headerCount; i++) {
+            headers.add(readString(position));
+        }
+        return new RecordedExchange(key, track, status, statusLine, headers, readBytes(position));
+    }
+
+    /**
+     * Reads a length-prefixed UTF-8 string.
+     *
+     * @param position The read position, advanced past the string.
+     * @return the string.
+     */
+    private String readString(int[] position) {
+        return new String(readBytes(position), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Reads a length-prefixed blob.
+     *
+     * @param position The read position, advanced past the blob.
+     * @return the bytes.
+     */
+    private byte[] readBytes(int[] position) {
+        int length = buffer.getInt(position[0]);
+        byte[] bytes = new byte[length];
+        buffer.get(position[0] + 4, bytes);
+        position[0] += 4 + length;
+        return bytes;
+    }
+
+    /**
+     * Encodes a record.
+     *
+     * @param exchange The exchange.
+     * @return the record bytes.
+     */
+    private static byte[] encode(RecordedExchange exchange) {
+        List<byte[]> strings = new ArrayList<>();
+        strings.add(exchange.key().getBytes(StandardCharsets.UTF_8));
+        strings.add(exchange.track().getBytes(StandardCharsets.UTF_8));
+        strings.add(exchange.statusLine() != null ? exchange.statusLine().getBytes(StandardCharsets.UTF_8) : new byte[0]);
+        for (String header : exchange.headers()) {
+            strings.add(header.getBytes(StandardCharsets.UTF_8));
+        }
+        int size = 4 + 4 + exchange.body().length + 4;
+        for (byte[] string : strings) {
+            size += 4 + string.length;
+        }
+        ByteBuffer record = ByteBuffer.allocate(size);
+        putBytes(record, strings.get(0));
+        putBytes(record, strings.get(1));
+        record.putInt(exchange.status());
+        putBytes(record, strings.get(2));
+        record.putInt(exchange.headers().size());
+        for (int i = 3; i < strings.size(); i++) {
+            putBytes(record, strings.get(i));
+        }
+        putBytes(record, exchange.body());
+        return record.array();
+    }
+
+    /**
+     * Writes a length-prefixed blob.
+     *
+     * @param record The target buffer.
+     * @param bytes  The blob.
+     */
+    private static void putBytes(ByteBuffer record, byte[] bytes) {
+        record.putInt(bytes.length).put(bytes);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of a key.
+     *
+     * @param bytes The key bytes.
+     * @return the hash.
+     */
+    private static long hash(byte[] bytes) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : bytes) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,16 @@
+package org.intigral.assignment.cassette;
+
+import java.util.List;
+
+/**
+ * One recorded response and the request key it answers.
+ *
+ * @param key        The request key: method, path with sorted query and normalized body.
+ * @param track      The test or fixture that sent the request, or an empty string outside both.
+ * @param status     The response status code.
+ * @param statusLine The response status line.
+ * @param headers    The response headers as alternating names and values.
+ * @param body       The response body.
+ */
+public record RecordedExchange(String key, String track, int status, String statusLine, List<String> headers, byte[] body) {
+}
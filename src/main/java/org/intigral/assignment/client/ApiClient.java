@@ -0,0 +1,39 @@
+package org.intigral.assignment.client;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * A client engine sending requests to one base URI. Implementations are thread-safe and shared;
+ * tests start requests with {@link #given()} and never depend on the engine behind it.
+ */
+public interface ApiClient {
+
+    /**
+     * Starts a request.
+     *
+     * @return a new request bound to this client.
+     */
+    default ApiRequest given() {
+        return new ApiRequest(this);
+    }
+
+    /**
+     * Sends a request and waits for the response.
+     *
+     * @param method  The HTTP method.
+     * @param path    The path relative to the base URI.
+     * @param request The request headers, cookies and body.
+     * @return the response.
+     */
+    ApiResponse send(String method, String path, ApiRequest request);
+
+    /**
+     * Sends a request without blocking the caller on the response.
+     *
+     * @param method  The HTTP method.
+     * @param path    The path relative to the base URI.
+     * @param request The request headers, cookies and body.
+     * @return the future response.
+     */
+    CompletableFuture<ApiResponse> sendAsync(String method, String path, ApiRequest request);
+}
@@ -0,0 +1,66 @@
+package org.intigral.assignment.client;
+
+import org.intigral.assignment.utils.ConfigManager;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Shared {@link ApiClient}s per base URI, on the engine selected by {@code clientEngine}:
+ * {@code restassured} (default) or {@code jdk}. With {@code responseCacheEnabled} the engine is
+ * wrapped in a {@link CachingApiClient}.
+ */
+public class ApiClients {
+
+    /**
+     * Clients keyed by base URI.
+     */
+    private static final Map<String, ApiClient> clients = new ConcurrentHashMap<>();
+
+    /**
+     * Gets the shared client for a base URI.
+     *
+     * @param baseUri The base URI of the API.
+     * @return the client.
+     * @throws IllegalStateException if the engine is unknown, or is {@code jdk} while a cassette is in use.
+     */
+    public static ApiClient forBaseUri(String baseUri) {
+        return clients.computeIfAbsent(baseUri, ApiClients::create);
+    }
+
+    /**
+     * Creates a client on the configured engine, with the response cache if enabled.
+     *
+     * @param baseUri The base URI of the API.
+     * @return the client.
+     */
+    private static ApiClient create(String baseUri) {
+        ApiClient engine = createEngine(baseUri);
+        if (!ConfigManager.getBoolean("responseCacheEnabled")) {
+            return engine;
+        }
+        return new CachingApiClient(engine, ConfigManager.getInt("responseCacheMaxEntries"),
+                ConfigManager.getLong("responseCacheMaxAgeMillis"));
+    }
+
+    /**
+     * Creates a client on the configured engine.
+     *
+     * @param baseUri The base URI of the API.
+     * @return the client.
+     */
+    private static ApiClient createEngine(String baseUri) {
+        String engine = ConfigManager.get("clientEngine").trim().toLowerCase(Locale.ROOT);
+        return switch (engine) {
+            case "restassured" -> new RestAssuredClient(baseUri);
+            case "jdk" -> {
+                if (!"off".equalsIgnoreCase(ConfigManager.get("cassetteMode").trim())) {
+                    throw new IllegalStateException("Cassettes need clientEngine=restassured");
+                }
+                yield new JdkHttpClient(baseUri);
+            }
+            default -> throw new IllegalStateException("Unknown clientEngine: " + engine);
+        };
+    }
+}
@@ -0,0 +1,194 @@
+package org.intigral.assignment.client;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Fluent request in the {@code given()/when()/then()} style, sent by the {@link ApiClient} that created it.
+ * A request is built and sent by one thread; the client it is sent through is shared.
+ */
+public final class ApiRequest {
+
+    /**
+     * JSON content type.
+     */
+    public static final String JSON = "application/json";
+
+    /**
+     * The client sending the request.
+     */
+    private final ApiClient client;
+
+    /**
+     * Request headers.
+     */
+    private final Map<String, String> headers = new LinkedHashMap<>();
+
+    /**
+     * Request cookies.
+     */
+    private final Map<String, String> cookies = new LinkedHashMap<>();
+
+    /**
+     * The content type, or {@code null}.
+     */
+    private String contentType;
+
+    /**
+     * The serialized body, or {@code null}.
+     */
+    private byte[] body;
+
+    /**
+     * Creates a request.
+     *
+     * @param client The client sending the request.
+     */
+    ApiRequest(ApiClient client) {
+        this.client = client;
+    }
+
+    /**
+     * Sets the content type.
+     *
+     * @param contentType The content type, e.g. {@link #JSON}.
+     * @return this request.
+     */
+    public ApiRequest contentType(String contentType) {
+        this.contentType = contentType;
+        return this;
+    }
+
+    /**
+     * Adds a header.
+     *
+     * @param name  The header name.
+     * @param value The header value.
+     * @return this request.
+     */
+    public ApiRequest header(String name, String value) {
+        headers.put(name, value);
+        return this;
+    }
+
+    /**
+     * Adds a cookie.
+     *
+     * @param name  The cookie name.
+     * @param value The cookie value.
+     * @return this request.
+     */
+    public ApiRequest cookie(String name, String value) {
+        cookies.put(name, value);
+        return this;
+    }
+
+    /**
+     * Sets the serialized body, e.g. from {@code BookingCodec.toBytes}.
+     *
+     * @param body The body bytes, sent as they are.
+     * @return this request.
+     */
+    public ApiRequest body(byte[] body) {
+        this.body = body;
+        return this;
+    }
+
+    /**
+     * Marks the end of the request setup.
+     *
+     * @return this request.
+     */
+    public ApiRequest when() {
+        return this;
+    }
+
+    /**
+     * Sends a GET request.
+     *
+     * @param path The path relative to the base URI.
+     * @return the response.
+     */
+    public ApiResponse get(String path) {
+        return client.send("GET", path, this);
+    }
+
+    /**
+     * Sends a POST request.
+     *
+     * @param path The path relative to the base URI.
+     * @return the response.
+     */
+    public ApiResponse post(String path) {
+        return client.send("POST", path, this);
+    }
+
+    /**
+     * Sends a PUT request.
+     *
+     * @param path The path relative to the base URI.
+     * @return the response.
+     */
+    public ApiResponse put(String path) {
+        return client.send("PUT", path, this);
+    }
+
+    /**
+     * Sends a DELETE request.
+     *
+     * @param path The path relative to the base URI.
+     * @return the response.
+     */
+    public ApiResponse delete(String path) {
+        return client.send("DELETE", path, this);
+    }
+
+    /**
+     * Sends the request without blocking on the response.
+     *
+     * @param method The HTTP method.
+     * @param path   The path relative to the base URI.
+     * @return the future response.
+     */
+    public CompletableFuture<ApiResponse> sendAsync(String method, String path) {
+        return client.sendAsync(method, path, this);
+    }
+
+    /**
+     * Gets the content type.
+     *
+     * @return the content type, or {@code null}.
+     */
+    String contentType() {
+        return contentType;
+    }
+
+    /**
+     * Gets the headers.
+     *
+     * @return the headers in insertion order.
+     */
+    Map<String, String> headers() {
+        return Collections.unmodifiableMap(headers);
+    }
+
+    /**
+     * Gets the cookies.
+     *
+     * @return the cookies in insertion order.
+     */
+    Map<String, String> cookies() {
+        return Collections.unmodifiableMap(cookies);
+    }
+
+    /**
+     * Gets the body.
+     *
+     * @return the body bytes, or {@code null}.
+     */
+    byte[] body() {
+        return body;
+    }
+}
@@ -0,0 +1,117 @@
+package org.intigral.assignment.client;
+
+import org.intigral.assignment.models.BookingResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An HTTP response with its body fully read, the same whichever engine produced it.
+ */
+public final class ApiResponse {
+
+    /**
+     * The status code.
+     */
+    private final int statusCode;
+
+    /**
+     * Response headers by name, case-insensitive.
+     */
+    private final Map<String, List<String>> headers;
+
+    /**
+     * The body bytes.
+     */
+    private final byte[] body;
+
+    /**
+     * The body parsed as a booking response, on first use; volatile because cached responses are shared.
+     */
+    private volatile BookingResponse booking;
+
+    /**
+     * Creates a response.
+     *
+     * @param statusCode The status code.
+     * @param headers    Response headers by name, with a case-insensitive order.
+     * @param body       The body bytes.
+     */
+    public ApiResponse(int statusCode, Map<String, List<String>> headers, byte[] body) {
+        this.statusCode = statusCode;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    /**
+     * Gets the status code.
+     *
+     * @return the status code.
+     */
+    public int statusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Gets the first value of a header.
+     *
+     * @param name The header name, in any case.
+     * @return the value, or {@code null} if absent.
+     */
+    public String header(String name) {
+        List<String> values = headers.get(name);
+        return values == null || values.isEmpty() ? null : values.get(0);
+    }
+
+    /**
+     * Gets all headers.
+     *
+     * @return the headers by name.
+     */
+    public Map<String, List<String>> headers() {
+        return headers;
+    }
+
+    /**
+     * Gets the body.
+     *
+     * @return the body bytes.
+     */
+    public byte[] asByteArray() {
+        return body;
+    }
+
+    /**
+     * Gets the body as text.
+     *
+     * @return the body decoded as UTF-8.
+     */
+    public String asString() {
+        return new String(body, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Extracts the booking ID and booking from the body, parsing it once.
+     *
+     * @return the parsed body.
+     * @throws IllegalArgumentException if the body is not valid JSON.
+     */
+    public BookingResponse booking() {
+        BookingResponse parsed = booking;
+        if (parsed == null) {
+            parsed = BookingResponse.parse(body);
+            booking = parsed;
+        }
+        return parsed;
+    }
+
+    /**
+     * Starts assertions on the response.
+     *
+     * @return the assertions.
+     */
+    public ResponseAssertions then() {
+        return new ResponseAssertions(this);
+    }
+}
@@ -0,0 +1,372 @@
+package org.intigral.assignment.client;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link ApiClient} decorator caching {@code 200} responses of {@code GET} requests in a size-bounded
+ * LRU map, keyed by path, headers and cookies.
+ * <p>
+ * An entry younger than the maximum age is served without a request. An older one is revalidated: if
+ * the server sent an {@code ETag}, the request carries {@code If-None-Match} and a {@code 304} answer
+ * serves the cached response, otherwise the response is fetched again. Any other method sent through
+ * this client drops the entries of its resource and of the parent collection before and after the
+ * call, and a {@code GET} that overlapped a write to its own resource or collection is not stored, so
+ * the framework never reads back its own stale data. Responses marked {@code Cache-Control: no-store}
+ * are not stored.
+ */
+public class CachingApiClient implements ApiClient {
+
+    /**
+     * Number of write generation stripes; resources sharing a stripe only cost each other a store.
+     */
+    private static final int STRIPES = 1024;
+
+    /**
+     * The client sending requests that are not served from the cache.
+     */
+    private final ApiClient delegate;
+
+    /**
+     * Maximum number of entries.
+     */
+    private final int maxEntries;
+
+    /**
+     * Age after which an entry is revalidated.
+     */
+    private final long maxAgeNanos;
+
+    /**
+     * Entries in access order, least recently used first, guarded by {@link #lock}.
+     */
+    private final LinkedHashMap<Key, Entry> entries;
+
+    /**
+     * Guards {@link #entries}; held only for map operations, never during a request.
+     */
+    private final ReentrantLock lock = new ReentrantLock();
+
+    /**
+     * Write generation per resource stripe, incremented by writes to the resource or to a resource in
+     * the collection, so a read that overlapped one is not stored. Guarded by {@link #lock} for updates.
+     */
+    private final AtomicLongArray generations = new AtomicLongArray(STRIPES);
+
+    /**
+     * Reads served from a fresh entry without a request.
+     */
+    private final LongAdder hits = new LongAdder();
+
+    /**
+     * Reads served from an entry after a {@code 304} revalidation.
+     */
+    private final LongAdder revalidated = new LongAdder();
+
+    /**
+     * Reads that needed a full response.
+     */
+    private final LongAdder misses = new LongAdder();
+
+    /**
+     * Creates a caching client.
+     *
+     * @param delegate    The client sending requests that are not served from the cache.
+     * @param maxEntries  Maximum number of entries, at least 1.
+     * @param maxAgeMillis Age in milliseconds after which an entry is revalidated; {@code 0} revalidates every hit.
+     */
+    public CachingApiClient(ApiClient delegate, int maxEntries, long maxAgeMillis) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+        this.delegate = delegate;
+        this.maxEntries = maxEntries;
+        this.maxAgeNanos = TimeUnit.MILLISECONDS.toNanos(maxAgeMillis);
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, Entry> eldest) {
+                return size() > CachingApiClient.this.maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Sends a request, serving or revalidating {@code GET}s from the cache and invalidating on writes.
+     *
+     * @param method  The HTTP method.
+     * @param path    The path relative to the base URI.
+     * @param request The request headers, cookies and body.
+     * @return the response.
+     */
+    @Override
+    public ApiResponse send(String method, String path, ApiRequest request) {
+        if (!isCacheable(method, request)) {
+            if (isSafe(method)) {
+                return delegate.send(method, path, request);
+            }
+            invalidate(path);
+            try {
+                return delegate.send(method, path, request);
+            } finally {
+                invalidate(path);
+            }
+        }
+        Key key = new Key(resource(path), path, request.headers().toString() + request.cookies());
+        long generation = generations.get(stripe(key.resource()));
+        Entry entry = lookup(key);
+        if (entry != null && System.nanoTime() - entry.storedNanos() < maxAgeNanos) {
+            hits.increment();
+            return entry.response();
+        }
+        return complete(key, entry, generation, delegate.send(method, path, conditional(request, entry)));
+    }
+
+    /**
+     * Sends a request asynchronously, with the same caching as {@link #send}.
+     *
+     * @param method  The HTTP method.
+     * @param path    The path relative to the base URI.
+     * @param request The request headers, cookies and body.
+     * @return the future response.
+     */
+    @Override
+    public CompletableFuture<ApiResponse> sendAsync(String method, String path, ApiRequest request) {
+        if (!isCacheable(method, request)) {
+            if (isSafe(method)) {
+                return delegate.sendAsync(method, path, request);
+            }
+            invalidate(path);
+            return delegate.sendAsync(method, path, request).whenComplete((response, error) -> invalidate(path));
+        }
+        Key key = new Key(resource(path), path, request.headers().toString() + request.cookies());
+        long generation = generations.get(stripe(key.resource()));
+        Entry entry = lookup(key);
+        if (entry != null && System.nanoTime() - entry.storedNanos() < maxAgeNanos) {
+            hits.increment();
+            return CompletableFuture.completedFuture(entry.response());
+        }
+        return delegate.sendAsync(method, path, conditional(request, entry))
+                .thenApply(response -> complete(key, entry, generation, response));
+    }
+
+    /**
+     * Handles the response to a cache miss or revalidation.
+     *
+     * @param key        The cache key.
+     * @param entry      The stale entry, or {@code null}.
+     * @param generation The write generation of the resource when the request was sent.
+     * @param response   The response.
+     * @return the response to return to the caller.
+     */
+    private ApiResponse complete(Key key, Entry entry, long generation, ApiResponse response) {
+        if (response.statusCode() == 304 && entry != null) {
+            revalidated.increment();
+            store(key, new Entry(entry.response(), entry.etag(), System.nanoTime()), generation);
+            return entry.response();
+        }
+        misses.increment();
+        String cacheControl = response.header("Cache-Control");
+        if (response.statusCode() == 200 && (cacheControl == null || !cacheControl.contains("no-store"))) {
+            store(key, new Entry(response, response.header("ETag"), System.nanoTime()), generation);
+        } else if (entry != null) {
+            remove(key);
+        }
+        return response;
+    }
+
+    /**
+     * Builds the revalidation request for a stale entry with an {@code ETag}.
+     *
+     * @param request The original request.
+     * @param entry   The stale entry, or {@code null}.
+     * @return the request to send.
+     */
+    private ApiRequest conditional(ApiRequest request, Entry entry) {
+        if (entry == null || entry.etag() == null) {
+            return request;
+        }
+        ApiRequest conditional = new ApiRequest(delegate).contentType(request.contentType());
+        request.headers().forEach(conditional::header);
+        request.cookies().forEach(conditional::cookie);
+        return conditional.header("If-None-Match", entry.etag());
+    }
+
+    /**
+     * Gets an entry and marks it as recently used.
+     *
+     * @param key The cache key.
+     * @return the entry, or {@code null}.
+     */
+    private Entry lookup(Key key) {
+        lock.lock();
+        try {
+            return entries.get(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores an entry unless its resource was written since the request was sent.
+     *
+     * @param key        The cache key.
+     * @param entry      The entry.
+     * @param generation The write generation of the resource when the request was sent.
+     */
+    private void store(Key key, Entry entry, long generation) {
+        lock.lock();
+        try {
+            if (generations.get(stripe(key.resource())) == generation) {
+                entries.put(key, entry);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes an entry.
+     *
+     * @param key The cache key.
+     */
+    private void remove(Key key) {
+        lock.lock();
+        try {
+            entries.remove(key);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Drops the entries of a written resource and of its parent collection, and advances their generations.
+     *
+     * @param path The written path.
+     */
+    private void invalidate(String path) {
+        String resource = resource(path);
+        int slash = resource.lastIndexOf('/');
+        String parent = slash > 0 ? resource.substring(0, slash) : resource;
+        lock.lock();
+        try {
+            generations.incrementAndGet(stripe(resource));
+            generations.incrementAndGet(stripe(parent));
+            for (Iterator<Key> keys = entries.keySet().iterator(); keys.hasNext(); ) {
+                String cached = keys.next().resource();
+                if (cached.equals(resource) || cached.equals(parent)) {
+                    keys.remove();
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Gets the read counts so far.
+     *
+     * @return the counts.
+     */
+    public Stats stats() {
+        return new Stats(hits.sum(), revalidated.sum(), misses.sum());
+    }
+
+    /**
+     * Checks whether a request may be served from the cache.
+     *
+     * @param method  The HTTP method.
+     * @param request The request.
+     * @return {@code true} for a {@code GET} without a body.
+     */
+    private static boolean isCacheable(String method, ApiRequest request) {
+        return "GET".equalsIgnoreCase(method) && request.body() == null;
+    }
+
+    /**
+     * Checks whether a method leaves server state unchanged.
+     *
+     * @param method The HTTP method.
+     * @return {@code true} for {@code GET}, {@code HEAD} and {@code OPTIONS}.
+     */
+    private static boolean isSafe(String method) {
+        return "GET".equalsIgnoreCase(method) || "HEAD".equalsIgnoreCase(method) || "OPTIONS".equalsIgnoreCase(method);
+    }
+
+    /**
+     * Maps a resource to its generation stripe.
+     *
+     * @param resource The resource path.
+     * @return the stripe index.
+     */
+    private static int stripe(String resource) {
+        return Math.floorMod(resource.hashCode(), STRIPES);
+    }
+
+    /**
+     * Strips the query from a path.
+     *
+     * @param path The path.
+     * @return the resource path.
+     */
+    private static String resource(String path) {
+        int query = path.indexOf('?');
+        return query >= 0 ? path.substring(0, query) : path;
+    }
+
+    /**
+     * Identifies a cached response.
+     *
+     * @param resource The path without query, for invalidation.
+     * @param path     The full path.
+     * @param variant  The request headers and cookies.
+     */
+    private record Key(String resource, String path, String variant) {
+    }
+
+    /**
+     * A cached response.
+     *
+     * @param response    The response.
+     * @param etag        Its {@code ETag}, or {@code null}.
+     * @param storedNanos When it was stored or last revalidated.
+     */
+    private record Entry(ApiResponse response, String etag, long storedNanos) {
+    }
+
+    /**
+     * Read counts of a cache.
+     *
+     * @param hits        Reads served from a fresh entry without a request.
+     * @param revalidated Reads served from an entry after a {@code 304} revalidation.
+     * @param misses      Reads that needed a full response.
+     */
+    public record Stats(long hits, long revalidated, long misses) {
+
+        /**
+         * Gets the share of reads served from the cache, with or without revalidation.
+         *
+         * @return the hit rate, or {@code 0} before any read.
+         */
+        public double hitRate() {
+            long reads = hits + revalidated + misses;
+            return reads == 0 ? 0 : (double) (hits + revalidated) / reads;
+        }
+
+        /**
+         * Formats the counts for logs.
+         *
+         * @return the formatted counts.
+         */
+        @Override
+        public String toString() {
+            return String.format("%d hits, %d revalidated, %d misses (%.1f%% served from cache)",
+                    hits, revalidated, misses, hitRate() * 100);
+        }
+    }
+}
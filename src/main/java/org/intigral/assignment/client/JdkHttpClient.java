@@ -0,0 +1,232 @@
+package org.intigral.assignment.client;
+
+import org.intigral.assignment.filters.BookingRegistryFilter;
+import org.intigral.assignment.filters.LatencyFilter;
+import org.intigral.assignment.jfr.ApiCallEvent;
+import org.intigral.assignment.utils.AdaptiveRateLimiter;
+import org.intigral.assignment.utils.ConfigManager;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ApiClient} engine on {@link HttpClient}: HTTP/2 where the server supports it (HTTP/1.1
+ * otherwise), natively asynchronous, and free of RestAssured and Groovy, so it starts much faster.
+ * Calls are still paced by the shared {@link AdaptiveRateLimiter}, timed into {@link LatencyFilter},
+ * tracked by {@link BookingRegistryFilter} and emitted as {@link ApiCallEvent}s; exchange capture
+ * and cassettes are only available on the RestAssured engine.
+ */
+public class JdkHttpClient implements ApiClient {
+
+    /**
+     * The HTTP client shared by all base URIs, running its callbacks on virtual threads.
+     */
+    private static final HttpClient http = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofMillis(ConfigManager.config().httpConnectTimeoutMillis()))
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .build();
+
+    /**
+     * Per-request response timeout.
+     */
+    private static final Duration readTimeout = Duration.ofMillis(ConfigManager.config().httpReadTimeoutMillis());
+
+    /**
+     * The base URI, without a trailing slash.
+     */
+    private final String baseUri;
+
+    /**
+     * Scheme, host and port of the base URI, for booking tracking.
+     */
+    private final String origin;
+
+    /**
+     * Creates a client for a base URI.
+     *
+     * @param baseUri The base URI of the API.
+     */
+    public JdkHttpClient(String baseUri) {
+        this.baseUri = baseUri.endsWith("/") ? baseUri.substring(0, baseUri.length() - 1) : baseUri;
+        URI uri = URI.create(this.baseUri);
+        this.origin = uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+
+    /**
+     * Sends a request and waits for the response.
+     *
+     * @param method  The HTTP method.
+     * @param path    The path relative to the base URI.
+     * @param request The request headers, cookies and body.
+     * @return the response.
+     * @throws UncheckedIOException if the request fails.
+     */
+    @Override
+    public ApiResponse send(String method, String path, ApiRequest request) {
+        HttpRequest httpRequest = toHttpRequest(method, path, request);
+        Call call = begin();
+        ApiResponse response = null;
+        try {
+            response = toApiResponse(http.send(httpRequest, HttpResponse.BodyHandlers.ofByteArray()));
+            return response;
+        } catch (IOException e) {
+            throw new UncheckedIOException(method + " " + path + " failed", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(method + " " + path + " interrupted", e);
+        } finally {
+            end(call, method, path, request, response);
+        }
+    }
+
+    /**
+     * Sends a request with the client's asynchronous API. The rate limit permit is reserved on the
+     * calling thread without blocking, and the request is sent once the permit is due.
+     *
+     * @param method  The HTTP method.
+     * @param path    The path relative to the base URI.
+     * @param request The request headers, cookies and body.
+     * @return the future response.
+     */
+    @Override
+    public CompletableFuture<ApiResponse> sendAsync(String method, String path, ApiRequest request) {
+        HttpRequest httpRequest = toHttpRequest(method, path, request);
+        AdaptiveRateLimiter limiter = AdaptiveRateLimiter.shared();
+        LatencyFilter.Scope latency = LatencyFilter.scope();
+        long wait = limiter != null ? limiter.reserve() : 0;
+        CompletableFuture<Void> permit = wait > 0
+                ? CompletableFuture.runAsync(() -> { }, CompletableFuture.delayedExecutor(wait, TimeUnit.NANOSECONDS))
+                : CompletableFuture.completedFuture(null);
+        return permit.thenCompose(due -> {
+            Call call = start(limiter, latency);
+            return http.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofByteArray())
+                    .handle((response, error) -> {
+                        ApiResponse apiResponse = response != null ? toApiResponse(response) : null;
+                        end(call, method, path, request, apiResponse);
+                        if (error != null) {
+                            throw error instanceof CompletionException completion ? completion : new CompletionException(error);
+                        }
+                        return apiResponse;
+                    });
+        });
+    }
+
+    /**
+     * Builds the JDK request.
+     *
+     * @param method  The HTTP method.
+     * @param path    The path relative to the base URI.
+     * @param request The request headers, cookies and body.
+     * @return the request.
+     */
+    private HttpRequest toHttpRequest(String method, String path, ApiRequest request) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUri + path))
+                .timeout(readTimeout)
+                .method(method, request.body() != null
+                        ? HttpRequest.BodyPublishers.ofByteArray(request.body())
+                        : HttpRequest.BodyPublishers.noBody());
+        if (request.contentType() != null) {
+            builder.header("Content-Type", request.contentType());
+        }
+        request.headers().forEach(builder::header);
+        if (!request.cookies().isEmpty()) {
+            StringJoiner cookies = new StringJoiner("; ");
+            request.cookies().forEach((name, value) -> cookies.add(name + "=" + value));
+            builder.header("Cookie", cookies.toString());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Takes a rate limit permit and starts timing a call.
+     *
+     * @return the call in progress.
+     */
+    private static Call begin() {
+        AdaptiveRateLimiter limiter = AdaptiveRateLimiter.shared();
+        if (limiter != null) {
+            limiter.acquire();
+        }
+        return start(limiter, LatencyFilter.scope());
+    }
+
+    /**
+     * Starts timing a call whose rate limit permit is due.
+     *
+     * @param limiter The rate limiter the permit was taken from, or {@code null}.
+     * @param latency The latency scope of the test that sent the call, or {@code null}.
+     * @return the call in progress.
+     */
+    private static Call start(AdaptiveRateLimiter limiter, LatencyFilter.Scope latency) {
+        ApiCallEvent event = new ApiCallEvent();
+        event.begin();
+        return new Call(event, limiter, System.nanoTime(), latency);
+    }
+
+    /**
+     * Records a finished call with the latency, rate limit, booking and Flight Recorder hooks.
+     *
+     * @param call     The call.
+     * @param method   The HTTP method.
+     * @param path     The path relative to the base URI.
+     * @param request  The request.
+     * @param response The response, or {@code null} if the call failed.
+     */
+    private void end(Call call, String method, String path, ApiRequest request, ApiResponse response) {
+        long elapsed = System.nanoTime() - call.startNanos();
+        int status = response != null ? response.statusCode() : 0;
+        LatencyFilter.record(call.latency(), method, path, elapsed);
+        if (call.limiter() != null) {
+            call.limiter().record(status, elapsed);
+        }
+        if (response != null) {
+            BookingRegistryFilter.track(origin, method, path, status, response::booking);
+        }
+        ApiCallEvent event = call.event();
+        event.end();
+        if (event.shouldCommit()) {
+            event.endpoint = LatencyFilter.endpoint(method, path);
+            event.status = status;
+            event.requestBytes = request.body() != null ? request.body().length : 0;
+            event.responseBytes = response != null ? response.asByteArray().length : 0;
+            event.commit();
+        }
+    }
+
+    /**
+     * Copies a JDK response.
+     *
+     * @param response The response.
+     * @return the engine-neutral response.
+     */
+    private static ApiResponse toApiResponse(HttpResponse<byte[]> response) {
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(response.headers().map());
+        return new ApiResponse(response.statusCode(), headers, response.body());
+    }
+
+    /**
+     * A call in progress.
+     *
+     * @param event      Its Flight Recorder event.
+     * @param limiter    The rate limiter it took a permit from, or {@code null}.
+     * @param startNanos When it was sent.
+     * @param latency    The latency scope of the test that sent it, or {@code null}.
+     */
+    private record Call(ApiCallEvent event, AdaptiveRateLimiter limiter, long startNanos, LatencyFilter.Scope latency) {
+    }
+}
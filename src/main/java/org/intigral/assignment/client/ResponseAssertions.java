@@ -0,0 +1,59 @@
+package org.intigral.assignment.client;
+
+import org.hamcrest.Matcher;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+
+/**
+ * Fluent assertions on an {@link ApiResponse}, failing with {@link AssertionError}.
+ */
+public final class ResponseAssertions {
+
+    /**
+     * The response under test.
+     */
+    private final ApiResponse response;
+
+    /**
+     * Creates assertions on a response.
+     *
+     * @param response The response.
+     */
+    ResponseAssertions(ApiResponse response) {
+        this.response = response;
+    }
+
+    /**
+     * Asserts the status code.
+     *
+     * @param expected The expected status.
+     * @return these assertions.
+     */
+    public ResponseAssertions statusCode(int expected) {
+        if (response.statusCode() != expected) {
+            throw new AssertionError("Expected status code " + expected + " but was " + response.statusCode());
+        }
+        return this;
+    }
+
+    /**
+     * Asserts that the body matches, e.g. {@code SchemaRegistry.matchesSchema(..)}. The matcher is
+     * given the JSON tree parsed once by {@link ApiResponse#booking()}.
+     *
+     * @param matcher The body matcher.
+     * @return these assertions.
+     */
+    public ResponseAssertions body(Matcher<Object> matcher) {
+        assertThat(response.booking().json(), matcher);
+        return this;
+    }
+
+    /**
+     * Ends the assertions.
+     *
+     * @return the response.
+     */
+    public ApiResponse extract() {
+        return response;
+    }
+}
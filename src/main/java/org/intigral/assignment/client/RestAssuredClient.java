@@ -0,0 +1,104 @@
+package org.intigral.assignment.client;
+
+import io.restassured.RestAssured;
+import io.restassured.http.Header;
+import io.restassured.response.Response;
+import io.restassured.specification.RequestSpecification;
+import org.intigral.assignment.filters.CassetteFilter;
+import org.intigral.assignment.filters.ExchangeCaptureFilter;
+import org.intigral.assignment.filters.LatencyFilter;
+import org.intigral.assignment.utils.ConfigManager;
+import org.intigral.assignment.utils.RequestSpecFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+
+/**
+ * {@link ApiClient} engine on RestAssured, sending through a {@link RequestSpecFactory} specification
+ * and so through all of its filters, including exchange capture and cassettes.
+ * Asynchronous calls run the blocking call on a bounded pool of platform threads, one per pooled
+ * connection to a route, in the test scope and cassette track of the caller. Virtual threads are not used: HttpClient 4
+ * waits for connections and executes inside {@code synchronized} blocks, which pins their carriers and
+ * starves other virtual threads of the JVM, such as the stub server's handlers.
+ */
+public class RestAssuredClient implements ApiClient {
+
+    /**
+     * Executor for asynchronous calls. Its threads do not inherit the test scope of the thread that
+     * happened to start them; each call runs in the scope of its caller instead.
+     */
+    private static final ExecutorService executor = Executors.newFixedThreadPool(
+            ConfigManager.config().httpMaxPerRoute(),
+            Thread.ofPlatform().name("restassured-async-", 0).daemon().inheritInheritableThreadLocals(false).factory());
+
+    /**
+     * Request specification bound to the base URI and the shared connection pool.
+     */
+    private final RequestSpecification spec;
+
+    /**
+     * Creates a client for a base URI.
+     *
+     * @param baseUri The base URI of the API.
+     */
+    public RestAssuredClient(String baseUri) {
+        this.spec = RequestSpecFactory.newSpec(baseUri);
+    }
+
+    /**
+     * Sends a request through RestAssured.
+     *
+     * @param method  The HTTP method.
+     * @param path    The path relative to the base URI.
+     * @param request The request headers, cookies and body.
+     * @return the response.
+     */
+    @Override
+    public ApiResponse send(String method, String path, ApiRequest request) {
+        RequestSpecification specification = RestAssured.given().spec(spec);
+        if (request.contentType() != null) {
+            specification.contentType(request.contentType());
+        }
+        request.headers().forEach(specification::header);
+        request.cookies().forEach(specification::cookie);
+        if (request.body() != null) {
+            specification.body(request.body());
+        }
+        return toApiResponse(specification.request(method, path));
+    }
+
+    /**
+     * Sends a request through RestAssured on the asynchronous pool, in the caller's test scope.
+     *
+     * @param method  The HTTP method.
+     * @param path    The path relative to the base URI.
+     * @param request The request headers, cookies and body.
+     * @return the future response.
+     */
+    @Override
+    public CompletableFuture<ApiResponse> sendAsync(String method, String path, ApiRequest request) {
+        return CompletableFuture.supplyAsync(
+                CassetteFilter.propagate(ExchangeCaptureFilter.propagate(LatencyFilter.propagate(
+                        () -> send(method, path, request)))), executor);
+    }
+
+    /**
+     * Copies a RestAssured response.
+     *
+     * @param response The response.
+     * @return the engine-neutral response.
+     */
+    private static ApiResponse toApiResponse(Response response) {
+        Map<String, List<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        for (Header header : response.getHeaders()) {
+            headers.computeIfAbsent(header.getName(), name -> new ArrayList<>(1)).add(header.getValue());
+        }
+        return new ApiResponse(response.statusCode(), headers, response.asByteArray());
+    }
+}
@@ -0,0 +1,18 @@
+package org.intigral.assignment.data;
+
+import org.intigral.assignment.models.Booking;
+
+/**
+ * A generated booking request together with the status the API is expected to answer.
+ *
+ * @param label          Short description of the chosen levels, shown as the test parameter.
+ * @param booking        The booking to send.
+ * @param expectedStatus {@code 200} if every level is valid, {@code 400} otherwise.
+ */
+public record BookingCase(String label, Booking booking, int expectedStatus) {
+
+    @Override
+    public String toString() {
+        return label;
+    }
+}
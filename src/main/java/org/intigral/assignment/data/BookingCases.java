@@ -0,0 +1,223 @@
+package org.intigral.assignment.data;
+
+import org.intigral.assignment.models.Booking;
+import org.intigral.assignment.models.BookingDates;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.stream.IntStream;
+
+/**
+ * Generated booking variants for data-driven tests: boundary prices, unicode and special-character
+ * names, and date edge cases. Each factor lists its levels with whether the API should accept them,
+ * and cases are built lazily from {@link Combinations}, so even the exhaustive set of tens of
+ * thousands of cases is streamed with constant memory.
+ * <p>
+ * Pairwise coverage combines only valid levels, then adds one case per invalid level with every
+ * other factor at its first valid level, so a rejected case always has exactly one cause.
+ */
+public final class BookingCases {
+
+    /**
+     * A value of one factor and whether the API accepts it.
+     *
+     * @param label Short description used in case labels.
+     * @param value The value.
+     * @param valid Whether a booking with this value is valid.
+     */
+    private record Level<T>(String label, T value, boolean valid) {
+    }
+
+    /**
+     * First names.
+     */
+    private static final List<Level<String>> FIRSTNAMES = List.of(
+            new Level<>("ascii", "testFirstName", true),
+            new Level<>("special", "!@#$%^&*", true),
+            new Level<>("quotes", "O'Brien \"Jr\" \\", true),
+            new Level<>("accented", "José Zoë", true),
+            new Level<>("cjk", "李雷", true),
+            new Level<>("emoji", "Ann 😀", true),
+            new Level<>("long", "A".repeat(255), true),
+            new Level<>("empty", "", false));
+
+    /**
+     * Last names.
+     */
+    private static final List<Level<String>> LASTNAMES = List.of(
+            new Level<>("ascii", "lastName", true),
+            new Level<>("special", "()_+", true),
+            new Level<>("markup", "<script>alert(1)</script>", true),
+            new Level<>("greek", "Ωμέγα", true),
+            new Level<>("empty", "", false));
+
+    /**
+     * Total prices.
+     */
+    private static final List<Level<Double>> PRICES = List.of(
+            new Level<>("zero", 0.0, true),
+            new Level<>("cent", 0.01, true),
+            new Level<>("typical", 10.11, true),
+            new Level<>("large", 9_999_999.99, true),
+            new Level<>("intMax", (double) Integer.MAX_VALUE, true),
+            new Level<>("minusCent", -0.01, false),
+            new Level<>("negative", -10.0, false));
+
+    /**
+     * Deposit flags.
+     */
+    private static final List<Level<Boolean>> DEPOSITS = List.of(
+            new Level<>("paid", true, true),
+            new Level<>("unpaid", false, true));
+
+    /**
+     * Booking date ranges, shared read-only between cases.
+     */
+    private static final List<Level<BookingDates>> DATES = List.of(
+            new Level<>("sameDay", new BookingDates("2023-06-15", "2023-06-15"), true),
+            new Level<>("leapDay", new BookingDates("2024-02-29", "2024-03-01"), true),
+            new Level<>("yearEnd", new BookingDates("2023-12-31", "2024-01-01"), true),
+            new Level<>("fullRange", new BookingDates("0001-01-01", "9999-12-31"), true),
+            new Level<>("reversed", new BookingDates("2024-01-01", "2022-01-01"), false),
+            new Level<>("notLeapYear", new BookingDates("2023-02-29", "2023-03-01"), false),
+            new Level<>("badMonth", new BookingDates("2023-13-01", "2023-13-02"), false),
+            new Level<>("unpadded", new BookingDates("2023-1-1", "2023-1-2"), false),
+            new Level<>("missing", null, false));
+
+    /**
+     * Additional needs.
+     */
+    private static final List<Level<String>> NEEDS = List.of(
+            new Level<>("breakfast", "Breakfast", true),
+            new Level<>("empty", "", true),
+            new Level<>("none", null, true),
+            new Level<>("unicode", "Café ☕", true),
+            new Level<>("long", "x".repeat(1000), true));
+
+    /**
+     * All factors, in the order of combination level indexes.
+     */
+    private static final List<List<? extends Level<?>>> FACTORS = List.of(FIRSTNAMES, LASTNAMES, PRICES, DEPOSITS, DATES, NEEDS);
+
+    private BookingCases() {
+    }
+
+    /**
+     * Streams generated cases.
+     *
+     * @param coverage {@code pairwise} for every pair of valid levels of every two factors plus one
+     *                 case per invalid level, {@code exhaustive} for every combination.
+     * @param limit    Maximum number of cases, or {@code 0} for no limit.
+     * @return a lazy iterator of single-element rows holding a {@link BookingCase}.
+     * @throws IllegalArgumentException if the coverage is unknown.
+     */
+    public static Iterator<Object[]> iterator(String coverage, int limit) {
+        Iterator<int[]> combinations = switch (coverage) {
+            case "pairwise" -> pairwise();
+            case "exhaustive" -> Combinations.exhaustive(FACTORS.stream().mapToInt(List::size).toArray());
+            default -> throw new IllegalArgumentException("Unknown coverage: " + coverage);
+        };
+        return new Iterator<>() {
+
+            /**
+             * Number of cases returned so far.
+             */
+            private int count;
+
+            @Override
+            public boolean hasNext() {
+                return (limit <= 0 || count < limit) && combinations.hasNext();
+            }
+
+            @Override
+            public Object[] next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                count++;
+                return new Object[]{toCase(combinations.next())};
+            }
+        };
+    }
+
+    /**
+     * Streams the pairwise combinations of the valid levels, then a single-fault combination per invalid level.
+     *
+     * @return a lazy iterator of level indexes.
+     */
+    private static Iterator<int[]> pairwise() {
+        int[][] valid = new int[FACTORS.size()][];
+        List<int[]> singleFaults = new ArrayList<>();
+        for (int factor = 0; factor < FACTORS.size(); factor++) {
+            List<? extends Level<?>> levels = FACTORS.get(factor);
+            valid[factor] = IntStream.range(0, levels.size()).filter(i -> levels.get(i).valid()).toArray();
+        }
+        for (int factor = 0; factor < FACTORS.size(); factor++) {
+            List<? extends Level<?>> levels = FACTORS.get(factor);
+            for (int level = 0; level < levels.size(); level++) {
+                if (!levels.get(level).valid()) {
+                    int[] combination = new int[FACTORS.size()];
+                    for (int other = 0; other < combination.length; other++) {
+                        combination[other] = valid[other][0];
+                    }
+                    combination[factor] = level;
+                    singleFaults.add(combination);
+                }
+            }
+        }
+        Iterator<int[]> validPairs = Combinations.pairwise(Arrays.stream(valid).mapToInt(indexes -> indexes.length).toArray());
+        Iterator<int[]> faults = singleFaults.iterator();
+        return new Iterator<>() {
+
+            @Override
+            public boolean hasNext() {
+                return validPairs.hasNext() || faults.hasNext();
+            }
+
+            @Override
+            public int[] next() {
+                if (!validPairs.hasNext()) {
+                    return faults.next();
+                }
+                int[] indexes = validPairs.next();
+                int[] combination = new int[indexes.length];
+                for (int factor = 0; factor < indexes.length; factor++) {
+                    combination[factor] = valid[factor][indexes[factor]];
+                }
+                return combination;
+            }
+        };
+    }
+
+    /**
+     * Builds the case for one combination of level indexes.
+     *
+     * @param levels The level index of each factor, in declaration order.
+     * @return the case.
+     */
+    private static BookingCase toCase(int[] levels) {
+        Level<String> firstname = FIRSTNAMES.get(levels[0]);
+        Level<String> lastname = LASTNAMES.get(levels[1]);
+        Level<Double> price = PRICES.get(levels[2]);
+        Level<Boolean> deposit = DEPOSITS.get(levels[3]);
+        Level<BookingDates> dates = DATES.get(levels[4]);
+        Level<String> needs = NEEDS.get(levels[5]);
+
+        Booking booking = new Booking();
+        booking.setFirstname(firstname.value());
+        booking.setLastname(lastname.value());
+        booking.setTotalprice(price.value());
+        booking.setDepositpaid(deposit.value());
+        booking.setBookingdates(dates.value());
+        booking.setAdditionalneeds(needs.value());
+
+        boolean valid = firstname.valid() && lastname.valid() && price.valid()
+                && deposit.valid() && dates.valid() && needs.valid();
+        String label = firstname.label() + '/' + lastname.label() + '/' + price.label() + '/'
+                + deposit.label() + '/' + dates.label() + '/' + needs.label();
+        return new BookingCase(label, booking, valid ? 200 : 400);
+    }
+}
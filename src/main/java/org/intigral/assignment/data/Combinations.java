@@ -0,0 +1,208 @@
+package org.intigral.assignment.data;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Lazy generators of factor-level combinations. Each combination is an {@code int[]} holding one
+ * level index per factor, built only when requested, so a data provider can stream any number of
+ * cases without materializing them.
+ */
+public final class Combinations {
+
+    private Combinations() {
+    }
+
+    /**
+     * Iterates over every combination of levels, the last factor varying fastest.
+     * Uses constant memory regardless of the number of combinations.
+     *
+     * @param sizes The number of levels of each factor.
+     * @return an iterator of level indexes, a new array per combination.
+     */
+    public static Iterator<int[]> exhaustive(int... sizes) {
+        return new Iterator<>() {
+
+            /**
+             * The next combination, or {@code null} once exhausted.
+             */
+            private int[] next = firstCombination(sizes);
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
+            }
+
+            @Override
+            public int[] next() {
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                int[] current = next;
+                int[] following = current.clone();
+                int factor = following.length - 1;
+                while (factor >= 0 && ++following[factor] == sizes[factor]) {
+                    following[factor--] = 0;
+                }
+                next = factor < 0 ? null : following;
+                return current;
+            }
+        };
+    }
+
+    /**
+     * Iterates over a set of combinations covering every pair of levels of every two factors at
+     * least once. Each combination is chosen greedily to cover as many still uncovered pairs as
+     * possible, which typically needs a small multiple of the product of the two largest factors
+     * instead of the product of all of them. Memory is bounded by the number of level pairs.
+     *
+     * @param sizes The number of levels of each factor.
+     * @return an iterator of level indexes, a new array per combination.
+     */
+    public static Iterator<int[]> pairwise(int... sizes) {
+        if (sizes.length < 2) {
+            return exhaustive(sizes);
+        }
+        return new PairwiseIterator(sizes.clone());
+    }
+
+    /**
+     * Gets the first combination of an exhaustive iteration.
+     *
+     * @param sizes The number of levels of each factor.
+     * @return all zeros, or {@code null} if a factor has no level.
+     */
+    private static int[] firstCombination(int[] sizes) {
+        for (int size : sizes) {
+            if (size <= 0) {
+                return null;
+            }
+        }
+        return new int[sizes.length];
+    }
+
+    /**
+     * Greedy pairwise covering iterator.
+     */
+    private static final class PairwiseIterator implements Iterator<int[]> {
+
+        /**
+         * The number of levels of each factor.
+         */
+        private final int[] sizes;
+
+        /**
+         * Uncovered level pairs of factors {@code i < j}, indexed {@code [i][j][a * sizes[j] + b]}.
+         */
+        private final boolean[][][] uncovered;
+
+        /**
+         * Number of level pairs not covered yet.
+         */
+        private int remaining;
+
+        /**
+         * Creates the iterator with every level pair uncovered.
+         *
+         * @param sizes The number of levels of each factor.
+         */
+        PairwiseIterator(int[] sizes) {
+            this.sizes = sizes;
+            this.uncovered = new boolean[sizes.length][sizes.length][];
+            if (firstCombination(sizes) == null) {
+                return;
+            }
+            for (int i = 0; i < sizes.length; i++) {
+                for (int j = i + 1; j < sizes.length; j++) {
+                    uncovered[i][j] = new boolean[sizes[i] * sizes[j]];
+                    Arrays.fill(uncovered[i][j], true);
+                    remaining += sizes[i] * sizes[j];
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        @Override
+        public int[] next() {
+            if (remaining == 0) {
+                throw new NoSuchElementException();
+            }
+            int[] combination = new int[sizes.length];
+            Arrays.fill(combination, -1);
+            seed(combination);
+
+            // Fill the other factors with the level covering the most uncovered pairs so far
+            for (int factor = 0; factor < sizes.length; factor++) {
+                if (combination[factor] >= 0) {
+                    continue;
+                }
+                int bestLevel = 0;
+                int bestGain = -1;
+                for (int level = 0; level < sizes[factor]; level++) {
+                    int gain = 0;
+                    for (int other = 0; other < sizes.length; other++) {
+                        if (other != factor && combination[other] >= 0 && isUncovered(factor, level, other, combination[other])) {
+                            gain++;
+                        }
+                    }
+                    if (gain > bestGain) {
+                        bestGain = gain;
+                        bestLevel = level;
+                    }
+                }
+                combination[factor] = bestLevel;
+            }
+
+            for (int i = 0; i < sizes.length; i++) {
+                for (int j = i + 1; j < sizes.length; j++) {
+                    int index = combination[i] * sizes[j] + combination[j];
+                    if (uncovered[i][j][index]) {
+                        uncovered[i][j][index] = false;
+                        remaining--;
+                    }
+                }
+            }
+            return combination;
+        }
+
+        /**
+         * Assigns the first uncovered pair to the combination.
+         *
+         * @param combination The combination being built, all levels unassigned.
+         */
+        private void seed(int[] combination) {
+            for (int i = 0; i < sizes.length; i++) {
+                for (int j = i + 1; j < sizes.length; j++) {
+                    boolean[] pairs = uncovered[i][j];
+                    for (int index = 0; index < pairs.length; index++) {
+                        if (pairs[index]) {
+                            combination[i] = index / sizes[j];
+                            combination[j] = index % sizes[j];
+                            return;
+                        }
+                    }
+                }
+            }
+        }
+
+        /**
+         * Checks whether a pair of levels of two factors is still uncovered.
+         *
+         * @param factor     A factor.
+         * @param level      Its level.
+         * @param other      Another factor.
+         * @param otherLevel Its level.
+         * @return {@code true} if no returned combination covers the pair yet.
+         */
+        private boolean isUncovered(int factor, int level, int other, int otherLevel) {
+            return factor < other
+                    ? uncovered[factor][other][level * sizes[other] + otherLevel]
+                    : uncovered[other][factor][otherLevel * sizes[factor] + level];
+        }
+    }
+}
@@ -0,0 +1,85 @@
+package org.intigral.assignment.filters;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.intigral.assignment.models.BookingResponse;
+import org.intigral.assignment.utils.BookingRegistry;
+import org.intigral.assignment.utils.ConfigManager;
+
+import java.net.URI;
+import java.util.function.Supplier;
+
+/**
+ * RestAssured filter registering bookings created through the booking endpoint in the
+ * {@link BookingRegistry}, and unregistering them once deleted, so the suite can remove
+ * whatever its tests left behind. A create whose body is not a booking response, such as a proxy
+ * error page, is not registered and never fails the call.
+ */
+public class BookingRegistryFilter implements Filter {
+
+    /**
+     * Booking endpoint path.
+     */
+    private static final String bookingEndpoint = ConfigManager.config().bookingEndpoint();
+
+    /**
+     * Tracks successful create and delete calls on the booking endpoint.
+     *
+     * @param requestSpec  The request about to be sent.
+     * @param responseSpec The response specification.
+     * @param ctx          The filter context.
+     * @return the unmodified response.
+     */
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        Response response = ctx.next(requestSpec, responseSpec);
+        track(origin(requestSpec), requestSpec.getMethod(), requestSpec.getDerivedPath(), response.statusCode(),
+                () -> BookingResponse.parse(response.asByteArray()));
+        return response;
+    }
+
+    /**
+     * Tracks a call made outside RestAssured, e.g. by another client engine.
+     *
+     * @param origin The scheme, host and port the request was sent to.
+     * @param method The HTTP method.
+     * @param path   The request path, without the base URI.
+     * @param status The response status.
+     * @param body   Supplies the parsed response body, only read for successful creates; pass the
+     *               caller's lazily parsed response so the body is parsed once.
+     */
+    public static void track(String origin, String method, String path, int status, Supplier<BookingResponse> body) {
+        if (method.equals("POST") && path.equals(bookingEndpoint) && status == 200) {
+            int id;
+            try {
+                id = body.get().bookingId();
+            } catch (IllegalArgumentException e) {
+                return;
+            }
+            if (id > 0) {
+                BookingRegistry.register(origin, id);
+            }
+        } else if (method.equals("DELETE") && path.startsWith(bookingEndpoint + "/") && status == 201) {
+            String segment = path.substring(bookingEndpoint.length() + 1);
+            if (!segment.isEmpty() && segment.chars().allMatch(Character::isDigit)) {
+                BookingRegistry.unregister(origin, Integer.parseInt(segment));
+            }
+        }
+    }
+
+    /**
+     * Gets the scheme, host and port a request was sent to.
+     *
+     * @param requestSpec The sent request.
+     * @return the origin, e.g. {@code http://127.0.0.1:8080}.
+     */
+    private static String origin(FilterableRequestSpecification requestSpec) {
+        URI uri = URI.create(requestSpec.getURI());
+        return uri.getScheme() + "://" + uri.getRawAuthority();
+    }
+}
@@ -0,0 +1,459 @@
+package org.intigral.assignment.filters;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import io.restassured.builder.ResponseBuilder;
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Header;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.intigral.assignment.cassette.Cassette;
+import org.intigral.assignment.cassette.RecordedExchange;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Supplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * RestAssured filter recording exchanges into, or replaying them from, a {@link Cassette}.
+ * Requests are keyed by method, path, sorted query parameters and body, with JSON bodies
+ * normalized by sorting object keys, so the key does not depend on the host or field order.
+ * <ul>
+ *     <li>{@code record}: requests go to the network and every exchange is kept; the cassette is
+ *     written when the JVM exits.</li>
+ *     <li>{@code replay}: requests are answered from the memory-mapped cassette without any network.
+ *     A request missing from the cassette fails in strict mode and goes to the network otherwise.</li>
+ * </ul>
+ * Every exchange is recorded with its track: the test that sent it, set by {@link #beginTrack(String)},
+ * or the fixture, set by {@link #inTrack(String, Supplier)}. Tracks make replay deterministic when tests
+ * run in parallel:
+ * <ul>
+ *     <li>A repeated key gets the unused responses recorded in the caller's own track first, in order,
+ *     then those of other tracks, and finally its last response again. A test creating a booking
+ *     gets back the booking ID it was given when recording, whatever other tests send at the same time.</li>
+ *     <li>A booking ID obtained from outside the track, such as a pooled booking whose assignment depends
+ *     on timing, is remapped to the ID the track used at the same position when recording, the first
+ *     time a request for it has no response recorded in the track.</li>
+ * </ul>
+ */
+public class CassetteFilter implements Filter {
+
+    /**
+     * Cassette modes.
+     */
+    public enum Mode {
+        OFF, RECORD, REPLAY
+    }
+
+    /**
+     * The mode.
+     */
+    private final Mode mode;
+
+    /**
+     * Whether requests missing from the cassette fail during replay.
+     */
+    private final boolean strict;
+
+    /**
+     * The cassette to replay, {@code null} unless replaying.
+     */
+    private final Cassette cassette;
+
+    /**
+     * Exchanges recorded so far, {@code null} unless recording.
+     */
+    private final Queue<RecordedExchange> recorded;
+
+    /**
+     * Matches a booking ID, or any other numeric path segment, in the request line of a key.
+     */
+    private static final Pattern ID_SEGMENT = Pattern.compile("/(\\d+)(?=[/?]|$)");
+
+    /**
+     * Track of the calling thread, {@code null} outside any test or fixture.
+     */
+    private static final InheritableThreadLocal<String> track = new InheritableThreadLocal<>();
+
+    /**
+     * Which recorded responses of each key have been replayed.
+     */
+    private final Map<String, boolean[]> replayed = new ConcurrentHashMap<>();
+
+    /**
+     * Replay state by track name.
+     */
+    private final Map<String, Track> tracks = new ConcurrentHashMap<>();
+
+    /**
+     * IDs each track sent requests for when recording, in order of first use; empty unless replaying.
+     */
+    private final Map<String, List<String>> recordedIds = new HashMap<>();
+
+    /**
+     * Creates a filter.
+     *
+     * @param mode   The mode.
+     * @param path   The cassette file.
+     * @param strict Whether requests missing from the cassette fail during replay.
+     */
+    public CassetteFilter(Mode mode, Path path, boolean strict) {
+        this.mode = mode;
+        this.strict = strict;
+        this.cassette = mode == Mode.REPLAY ? Cassette.open(path) : null;
+        if (cassette != null) {
+            cassette.forEach(exchange -> {
+                List<String> ids = recordedIds.computeIfAbsent(exchange.track(), name -> new ArrayList<>());
+                for (String id : ids(exchange.key())) {
+                    if (!ids.contains(id)) {
+                        ids.add(id);
+                    }
+                }
+            });
+        }
+        if (mode == Mode.RECORD) {
+            recorded = new ConcurrentLinkedQueue<>();
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> save(path), "cassette-writer"));
+        } else {
+            recorded = null;
+        }
+    }
+
+    /**
+     * Records or replays the exchange depending on the mode.
+     *
+     * @param requestSpec  The request about to be sent.
+     * @param responseSpec The response specification.
+     * @param ctx          The filter context.
+     * @return the live or replayed response.
+     */
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        if (mode == Mode.OFF) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        String key = key(requestSpec);
+        String trackName = Objects.requireNonNullElse(track.get(), "");
+        if (mode == Mode.REPLAY) {
+            RecordedExchange exchange = replay(key, tracks.computeIfAbsent(trackName, Track::new));
+            if (exchange != null) {
+                return toResponse(exchange);
+            }
+            if (strict) {
+                String shown = key.length() > 300 ? key.substring(0, 300) + "..." : key;
+                throw new AssertionError("Request not found in cassette: " + shown.replace('\n', ' '));
+            }
+            return ctx.next(requestSpec, responseSpec);
+        }
+
+        Response response = ctx.next(requestSpec, responseSpec);
+        List<String> headers = new ArrayList<>();
+        for (Header header : response.getHeaders()) {
+            headers.add(header.getName());
+            headers.add(header.getValue());
+        }
+        recorded.add(new RecordedExchange(key, trackName, response.statusCode(), response.getStatusLine(), headers,
+                response.asByteArray()));
+        return response;
+    }
+
+    /**
+     * Sets the track of the calling thread and of the threads it creates, typically at the start of a test.
+     *
+     * @param name The track name, unique per test and data-provider row.
+     */
+    public static void beginTrack(String name) {
+        track.set(name);
+    }
+
+    /**
+     * Clears the track of the calling thread, typically at the end of a test.
+     */
+    public static void endTrack() {
+        track.remove();
+    }
+
+    /**
+     * Runs a task in a named track, such as a fixture, whatever thread started it.
+     *
+     * @param name The track name.
+     * @param task The task.
+     * @param <T>  The task result type.
+     * @return the task result.
+     */
+    public static <T> T inTrack(String name, Supplier<T> task) {
+        String previous = track.get();
+        track.set(name);
+        try {
+            return task.get();
+        } finally {
+            track.set(previous);
+        }
+    }
+
+    /**
+     * Wraps a task so that it runs in the calling thread's track on whichever thread runs it.
+     *
+     * @param task The task.
+     * @param <T>  The task result type.
+     * @return the wrapped task.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        String name = track.get();
+        return () -> inTrack(name, task);
+    }
+
+    /**
+     * Picks the recorded response to a request: from the caller's track, then for remapped IDs,
+     * then from any track.
+     *
+     * @param key   The request key.
+     * @param owner The caller's track.
+     * @return the response, or {@code null} if the key was not recorded.
+     */
+    private RecordedExchange replay(String key, Track owner) {
+        List<String> ids = ids(key);
+        owner.see(ids);
+        List<RecordedExchange> matches = cassette.find(key);
+        RecordedExchange exchange = take(key, matches, owner.name, false);
+        if (exchange == null && !ids.isEmpty()) {
+            String remapped = owner.remap(key, ids, recordedIds.getOrDefault(owner.name, List.of()));
+            if (remapped != null && !remapped.equals(key)) {
+                exchange = take(remapped, cassette.find(remapped), owner.name, false);
+            }
+        }
+        return exchange != null ? exchange : take(key, matches, owner.name, true);
+    }
+
+    /**
+     * Takes the next unused response to a key.
+     *
+     * @param key       The request key.
+     * @param matches   The recorded responses to the key, in recording order.
+     * @param trackName The caller's track.
+     * @param anyTrack  {@code false} to take only from the caller's track; {@code true} to take from any
+     *                  track, repeating the last response once all are used.
+     * @return the response, or {@code null} if there is none.
+     */
+    private RecordedExchange take(String key, List<RecordedExchange> matches, String trackName, boolean anyTrack) {
+        if (matches.isEmpty()) {
+            return null;
+        }
+        boolean[] used = replayed.computeIfAbsent(key, k -> new boolean[matches.size()]);
+        synchronized (used) {
+            for (int i = 0; i < matches.size(); i++) {
+                if (!used[i] && (anyTrack || matches.get(i).track().equals(trackName))) {
+                    used[i] = true;
+                    return matches.get(i);
+                }
+            }
+        }
+        return anyTrack ? matches.get(matches.size() - 1) : null;
+    }
+
+    /**
+     * Writes the recorded exchanges to the cassette file.
+     *
+     * @param path The cassette file.
+     */
+    private void save(Path path) {
+        Cassette.write(path, List.copyOf(recorded));
+        System.out.println("Recorded " + recorded.size() + " exchanges to " + path);
+    }
+
+    /**
+     * Builds the cassette key of a request.
+     *
+     * @param requestSpec The request.
+     * @return method, path, sorted query and normalized body.
+     */
+    static String key(FilterableRequestSpecification requestSpec) {
+        StringBuilder key = new StringBuilder(requestSpec.getMethod()).append(' ').append(requestSpec.getDerivedPath());
+        Map<String, String> query = new TreeMap<>(requestSpec.getQueryParams());
+        if (!query.isEmpty()) {
+            char separator = '?';
+            for (Map.Entry<String, String> entry : query.entrySet()) {
+                key.append(separator).append(entry.getKey()).append('=').append(entry.getValue());
+                separator = '&';
+            }
+        }
+        Object body = requestSpec.getBody();
+        if (body != null) {
+            String text = body instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : body.toString();
+            key.append('\n').append(normalize(text));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Gets the numeric path segments of a key, such as booking IDs.
+     *
+     * @param key The request key.
+     * @return the segments in path order.
+     */
+    private static List<String> ids(String key) {
+        List<String> ids = new ArrayList<>(1);
+        Matcher matcher = ID_SEGMENT.matcher(requestLine(key));
+        while (matcher.find()) {
+            ids.add(matcher.group(1));
+        }
+        return ids;
+    }
+
+    /**
+     * Gets the request line of a key: method, path and query.
+     *
+     * @param key The request key.
+     * @return the key up to the body.
+     */
+    private static String requestLine(String key) {
+        int newline = key.indexOf('\n');
+        return newline >= 0 ? key.substring(0, newline) : key;
+    }
+
+    /**
+     * Normalizes a JSON body by sorting object keys; other bodies are kept as they are.
+     *
+     * @param body The body text.
+     * @return the normalized body.
+     */
+    private static String normalize(String body) {
+        try {
+            return canonical(JsonParser.parseString(body)).toString();
+        } catch (JsonParseException e) {
+            return body;
+        }
+    }
+
+    /**
+     * Copies a JSON element with object keys in sorted order.
+     *
+     * @param element The element.
+     * @return the canonical copy.
+     */
+    private static JsonElement canonical(JsonElement element) {
+        if (element.isJsonObject()) {
+            JsonObject sorted = new JsonObject();
+            new TreeMap<>(element.getAsJsonObject().asMap())
+                    .forEach((name, value) -> sorted.add(name, canonical(value)));
+            return sorted;
+        }
+        if (element.isJsonArray()) {
+            JsonArray array = new JsonArray();
+            element.getAsJsonArray().forEach(value -> array.add(canonical(value)));
+            return array;
+        }
+        return element;
+    }
+
+    /**
+     * Rebuilds a RestAssured response from a recorded exchange.
+     *
+     * @param exchange The recorded exchange.
+     * @return the response.
+     */
+    private static Response toResponse(RecordedExchange exchange) {
+        List<Header> headers = new ArrayList<>(exchange.headers().size() / 2);
+        String contentType = null;
+        for (int i = 0; i + 1 < exchange.headers().size(); i += 2) {
+            headers.add(new Header(exchange.headers().get(i), exchange.headers().get(i + 1)));
+            if (exchange.headers().get(i).equalsIgnoreCase("Content-Type")) {
+                contentType = exchange.headers().get(i + 1);
+            }
+        }
+        ResponseBuilder builder = new ResponseBuilder()
+                .setStatusCode(exchange.status())
+                .setStatusLine(exchange.statusLine())
+                .setHeaders(new Headers(headers))
+                .setBody(exchange.body());
+        if (contentType != null) {
+            builder.setContentType(contentType);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Replay state of one track. Its methods are synchronized; none of them does IO.
+     */
+    private static final class Track {
+
+        /**
+         * The track name.
+         */
+        final String name;
+
+        /**
+         * IDs the track has sent requests for during replay, in order of first use.
+         */
+        private final List<String> seen = new ArrayList<>();
+
+        /**
+         * Recorded ID of every remapped replay ID.
+         */
+        private final Map<String, String> remapped = new HashMap<>();
+
+        /**
+         * Creates an empty track.
+         *
+         * @param name The track name.
+         */
+        Track(String name) {
+            this.name = name;
+        }
+
+        /**
+         * Notes the IDs of a request.
+         *
+         * @param ids The IDs in path order.
+         */
+        synchronized void see(List<String> ids) {
+            for (String id : ids) {
+                if (!seen.contains(id)) {
+                    seen.add(id);
+                }
+            }
+        }
+
+        /**
+         * Rewrites the IDs of a key to the IDs the track used at the same positions when recording.
+         *
+         * @param key      The request key.
+         * @param ids      Its IDs in path order.
+         * @param recorded The IDs of the track when recording, in order of first use.
+         * @return the remapped key, or {@code null} if an ID has no recorded counterpart.
+         */
+        synchronized String remap(String key, List<String> ids, List<String> recorded) {
+            for (String id : ids) {
+                if (!remapped.containsKey(id)) {
+                    int position = seen.indexOf(id);
+                    if (position < 0 || position >= recorded.size()) {
+                        return null;
+                    }
+                    remapped.put(id, recorded.get(position));
+                }
+            }
+            String line = requestLine(key);
+            String rewritten = ID_SEGMENT.matcher(line).replaceAll(match -> "/" + remapped.get(match.group(1)));
+            return rewritten + key.substring(line.length());
+        }
+    }
+}
@@ -0,0 +1,307 @@
+package org.intigral.assignment.filters;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.http.Headers;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.intigral.assignment.utils.ConfigManager;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * RestAssured filter that keeps the last N request/response exchanges of each test in a
+ * fixed-size ring buffer instead of logging them. Each test gets its own ring, whose slots are created
+ * as exchanges arrive and reused once it wraps, so a test sending few requests allocates few slots.
+ * Rings are not shared between tests, because threads that inherited a finished test's scope may
+ * still hold its ring. Capturing only stores references; the
+ * exchanges are formatted when {@link #drain()} is called, typically after a test has failed,
+ * so passing tests pay almost nothing for full diagnostics.
+ * <p>
+ * {@link #beginTest()} opens a capture scope on the test thread. The scope is inherited by every
+ * thread created from it while it is open, such as lifecycle runs and fixtures the test starts, and
+ * {@code sendAsync} carries it to the RestAssured engine's pool, so their exchanges land in the
+ * test's ring too.
+ * Threads outside any scope capture nothing. Exchanges of a fixture started by another test or a
+ * configuration method, or sent from a pooled thread created before the test, are not captured
+ * for this test unless the task was wrapped with {@link #propagate(Supplier)}.
+ */
+public class ExchangeCaptureFilter implements Filter {
+
+    /**
+     * Number of exchanges kept per test.
+     */
+    private static final int capacity = capacity();
+
+    /**
+     * Ring buffer of the test scope of the calling thread, {@code null} outside a test.
+     */
+    private static final InheritableThreadLocal<Ring> rings = new InheritableThreadLocal<>();
+
+    /**
+     * Records the exchange after the request has completed, or failed without a response.
+     *
+     * @param requestSpec  The request about to be sent.
+     * @param responseSpec The response specification.
+     * @param ctx          The filter context.
+     * @return the unmodified response.
+     */
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        Response response = null;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+            return response;
+        } finally {
+            Ring ring = rings.get();
+            if (ring != null) {
+                ring.record(requestSpec.getMethod(), requestSpec.getURI(), requestSpec.getHeaders(),
+                        requestSpec.getBody(), response, System.nanoTime() - start);
+            }
+        }
+    }
+
+    /**
+     * Opens a capture scope on the calling thread, closing any previous one.
+     */
+    public static void beginTest() {
+        clear();
+        rings.set(new Ring(capacity));
+    }
+
+    /**
+     * Wraps a task so that it captures into the calling thread's scope on whichever thread runs it.
+     *
+     * @param task The task.
+     * @param <T>  The task result type.
+     * @return the wrapped task.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Ring ring = rings.get();
+        return () -> {
+            Ring previous = rings.get();
+            rings.set(ring);
+            try {
+                return task.get();
+            } finally {
+                rings.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Closes the capture scope of the calling thread and discards its exchanges.
+     */
+    public static void clear() {
+        Ring ring = rings.get();
+        rings.remove();
+        if (ring != null) {
+            ring.close();
+        }
+    }
+
+    /**
+     * Formats the exchanges captured in the scope of the calling thread, oldest first, and closes the scope.
+     *
+     * @return the formatted exchanges, or an empty string if none were captured.
+     */
+    public static String drain() {
+        Ring ring = rings.get();
+        if (ring == null) {
+            return "";
+        }
+        StringBuilder out = new StringBuilder();
+        ring.forEach(exchange -> exchange.appendTo(out));
+        clear();
+        return out.toString();
+    }
+
+    /**
+     * Reads the configured ring size.
+     *
+     * @return the number of exchanges kept per test.
+     * @throws IllegalStateException if {@code captureBufferSize} is below 1.
+     */
+    private static int capacity() {
+        int size = ConfigManager.getInt("captureBufferSize");
+        if (size < 1) {
+            throw new IllegalStateException("Configuration key captureBufferSize must be at least 1: " + size);
+        }
+        return size;
+    }
+
+    /**
+     * Fixed-size ring of exchange slots, created on first use and reused once the ring wraps,
+     * shared by the threads of one test scope.
+     * Its methods are synchronized; none of them does IO.
+     */
+    private static final class Ring {
+
+        /**
+         * Slots, {@code null} until first used.
+         */
+        private final Exchange[] slots;
+
+        /**
+         * Total number of exchanges recorded since the ring was opened.
+         */
+        private long count;
+
+        /**
+         * Set once the scope has ended; later exchanges from threads that inherited it are dropped.
+         */
+        private boolean closed;
+
+        /**
+         * Creates a ring with the given number of slots.
+         *
+         * @param capacity The number of slots.
+         */
+        Ring(int capacity) {
+            slots = new Exchange[capacity];
+        }
+
+        /**
+         * Records an exchange in the next slot, overwriting the oldest once full.
+         *
+         * @param method         The HTTP method.
+         * @param uri            The full request URI.
+         * @param requestHeaders The request headers.
+         * @param requestBody    The serialized request body, possibly {@code null}.
+         * @param response       The response, or {@code null} if none was received.
+         * @param durationNanos  The time taken by the exchange.
+         */
+        synchronized void record(String method, String uri, Headers requestHeaders, Object requestBody,
+                                 Response response, long durationNanos) {
+            if (!closed) {
+                int index = (int) (count++ % slots.length);
+                Exchange slot = slots[index];
+                if (slot == null) {
+                    slot = new Exchange();
+                    slots[index] = slot;
+                }
+                slot.set(method, uri, requestHeaders, requestBody, response, durationNanos);
+            }
+        }
+
+        /**
+         * Visits the retained exchanges, oldest first.
+         *
+         * @param visitor The visitor.
+         */
+        synchronized void forEach(Consumer<Exchange> visitor) {
+            long first = Math.max(0, count - slots.length);
+            for (long i = first; i < count; i++) {
+                visitor.accept(slots[(int) (i % slots.length)]);
+            }
+        }
+
+        /**
+         * Ends the scope: forgets all retained exchanges, releases their references and drops later ones.
+         */
+        synchronized void close() {
+            for (Exchange slot : slots) {
+                if (slot != null) {
+                    slot.set(null, null, null, null, null, 0);
+                }
+            }
+            count = 0;
+            closed = true;
+        }
+    }
+
+    /**
+     * Mutable holder for one captured exchange.
+     */
+    private static final class Exchange {
+
+        /**
+         * The HTTP method.
+         */
+        private String method;
+
+        /**
+         * The full request URI.
+         */
+        private String uri;
+
+        /**
+         * The request headers.
+         */
+        private Headers requestHeaders;
+
+        /**
+         * The serialized request body.
+         */
+        private Object requestBody;
+
+        /**
+         * The response, whose body is only read when the exchange is formatted.
+         */
+        private Response response;
+
+        /**
+         * The time taken by the exchange.
+         */
+        private long durationNanos;
+
+        /**
+         * Fills the slot.
+         *
+         * @param method         The HTTP method.
+         * @param uri            The full request URI.
+         * @param requestHeaders The request headers.
+         * @param requestBody    The serialized request body, possibly {@code null}.
+         * @param response       The response, or {@code null} if none was received.
+         * @param durationNanos  The time taken by the exchange.
+         */
+        void set(String method, String uri, Headers requestHeaders, Object requestBody,
+                 Response response, long durationNanos) {
+            this.method = method;
+            this.uri = uri;
+            this.requestHeaders = requestHeaders;
+            this.requestBody = requestBody;
+            this.response = response;
+            this.durationNanos = durationNanos;
+        }
+
+        /**
+         * Appends a readable form of the exchange.
+         *
+         * @param out The target buffer.
+         */
+        void appendTo(StringBuilder out) {
+            out.append(method).append(' ').append(uri)
+                    .append(" (").append(durationNanos / 1_000_000).append(" ms)\n");
+            appendHeaders(out, requestHeaders);
+            if (requestBody != null) {
+                out.append(requestBody instanceof byte[] bytes ? new String(bytes, StandardCharsets.UTF_8) : requestBody).append('\n');
+            }
+            if (response == null) {
+                out.append("<- no response\n\n");
+                return;
+            }
+            out.append("<- ").append(response.getStatusLine()).append('\n');
+            appendHeaders(out, response.getHeaders());
+            out.append(response.asString()).append("\n\n");
+        }
+
+        /**
+         * Appends one header per line.
+         *
+         * @param out     The target buffer.
+         * @param headers The headers, possibly {@code null}.
+         */
+        private static void appendHeaders(StringBuilder out, Headers headers) {
+            if (headers != null) {
+                headers.forEach(header -> out.append(header.getName()).append(": ").append(header.getValue()).append('\n'));
+            }
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package org.intigral.assignment.filters;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.intigral.assignment.jfr.ApiCallEvent;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * RestAssured filter emitting an {@link ApiCallEvent} per request. When no Flight Recorder
+ * recording has the event enabled, the cost is a single {@code isEnabled()} check.
+ */
+public class JfrEventFilter implements Filter {
+
+    /**
+     * Times the call and commits its event.
+     *
+     * @param requestSpec  The request about to be sent.
+     * @param responseSpec The response specification.
+     * @param ctx          The filter context.
+     * @return the unmodified response.
+     */
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        ApiCallEvent event = new ApiCallEvent();
+        if (!event.isEnabled()) {
+            return ctx.next(requestSpec, responseSpec);
+        }
+        event.begin();
+        Response response = null;
+        try {
+            response = ctx.next(requestSpec, responseSpec);
+            return response;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.endpoint = LatencyFilter.endpoint(requestSpec.getMethod(), requestSpec.getDerivedPath());
+                event.requestBytes = bodySize(requestSpec.getBody());
+                if (response != null) {
+                    event.status = response.statusCode();
+                    event.responseBytes = response.asByteArray().length;
+                }
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Gets the size of a serialized request body.
+     *
+     * @param body The body, possibly {@code null}.
+     * @return the size in bytes.
+     */
+    private static long bodySize(Object body) {
+        if (body == null) {
+            return 0;
+        }
+        return body instanceof byte[] bytes ? bytes.length : body.toString().getBytes(StandardCharsets.UTF_8).length;
+    }
+}
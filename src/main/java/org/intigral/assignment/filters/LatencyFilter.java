@@ -0,0 +1,237 @@
+package org.intigral.assignment.filters;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.HdrHistogram.AbstractHistogram;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * RestAssured filter recording the latency of every call per endpoint, keyed by method and path
+ * template, e.g. {@code GET /booking/{id}}. Every call goes into suite-wide concurrent histograms;
+ * calls made within a test scope (see {@link #beginTest()}) also go into that test's own histograms.
+ * The scope is inherited by every thread created from the test thread while it is open, tasks wrapped
+ * with {@link #propagate(Supplier)} carry it to pooled threads such as the RestAssured engine's
+ * {@code sendAsync} pool, and engines completing calls on their own threads record into the
+ * {@link #scope()} taken when the call started. Calls of a fixture started by another
+ * test or a configuration method count only towards the suite. Latencies are recorded in microseconds.
+ */
+public class LatencyFilter implements Filter {
+
+    /**
+     * Suite-wide latencies per endpoint.
+     */
+    private static final Map<String, ConcurrentHistogram> suite = new ConcurrentHashMap<>();
+
+    /**
+     * Test scope of the calling thread, {@code null} outside a test.
+     */
+    private static final InheritableThreadLocal<Scope> test = new InheritableThreadLocal<>();
+
+    /**
+     * Times the call and records it under its endpoint.
+     *
+     * @param requestSpec  The request about to be sent.
+     * @param responseSpec The response specification.
+     * @param ctx          The filter context.
+     * @return the unmodified response.
+     */
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        long start = System.nanoTime();
+        try {
+            return ctx.next(requestSpec, responseSpec);
+        } finally {
+            record(requestSpec.getMethod(), requestSpec.getDerivedPath(), System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * Records the latency of a call made outside RestAssured, e.g. by another client engine.
+     *
+     * @param method       The HTTP method.
+     * @param path         The request path, without the base URI.
+     * @param elapsedNanos The call latency.
+     */
+    public static void record(String method, String path, long elapsedNanos) {
+        record(test.get(), method, path, elapsedNanos);
+    }
+
+    /**
+     * Records the latency of a call completed on another thread than the one that started it.
+     *
+     * @param scope        The test scope taken with {@link #scope()} when the call started, possibly {@code null}.
+     * @param method       The HTTP method.
+     * @param path         The request path, without the base URI.
+     * @param elapsedNanos The call latency.
+     */
+    public static void record(Scope scope, String method, String path, long elapsedNanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(elapsedNanos);
+        String endpoint = endpoint(method, path);
+        suite.computeIfAbsent(endpoint, key -> new ConcurrentHistogram(3)).recordValue(micros);
+        if (scope != null && !scope.closed) {
+            scope.histograms.computeIfAbsent(endpoint, key -> new ConcurrentHistogram(3)).recordValue(micros);
+        }
+    }
+
+    /**
+     * Gets the test scope of the calling thread.
+     *
+     * @return the scope, or {@code null} outside a test.
+     */
+    public static Scope scope() {
+        return test.get();
+    }
+
+    /**
+     * Wraps a task so that it records into the calling thread's test scope on whichever thread runs it.
+     *
+     * @param task The task.
+     * @param <T>  The task result type.
+     * @return the wrapped task.
+     */
+    public static <T> Supplier<T> propagate(Supplier<T> task) {
+        Scope scope = test.get();
+        return () -> {
+            Scope previous = test.get();
+            test.set(scope);
+            try {
+                return task.get();
+            } finally {
+                test.set(previous);
+            }
+        };
+    }
+
+    /**
+     * Opens a test scope on the calling thread, discarding any previous one.
+     */
+    public static void beginTest() {
+        test.set(new Scope());
+    }
+
+    /**
+     * Closes the test scope of the calling thread; threads that inherited it stop recording into it.
+     *
+     * @return the latencies recorded in the scope per endpoint, in endpoint order, or an empty map.
+     */
+    public static Map<String, Histogram> endTest() {
+        Scope scope = test.get();
+        test.remove();
+        if (scope == null) {
+            return Map.of();
+        }
+        scope.closed = true;
+        Map<String, Histogram> histograms = new TreeMap<>();
+        scope.histograms.forEach((endpoint, histogram) -> histograms.put(endpoint, histogram.copy()));
+        return histograms;
+    }
+
+    /**
+     * Gets the suite-wide latencies per endpoint.
+     *
+     * @return a snapshot of the histograms, in endpoint order.
+     */
+    public static Map<String, Histogram> suiteHistograms() {
+        Map<String, Histogram> snapshot = new TreeMap<>();
+        suite.forEach((endpoint, histogram) -> snapshot.put(endpoint, histogram.copy()));
+        return snapshot;
+    }
+
+    /**
+     * Builds a percentile table of per-endpoint latencies.
+     *
+     * @param histograms Latencies per endpoint, in microseconds.
+     * @param budgets    p95 budgets in milliseconds per endpoint, shown when present.
+     * @return the table rows, header first.
+     */
+    public static String[][] table(Map<String, ? extends AbstractHistogram> histograms, Map<String, Long> budgets) {
+        String[][] rows = new String[histograms.size() + 1][];
+        rows[0] = new String[]{"Endpoint", "Calls", "p50 ms", "p95 ms", "p99 ms", "Max ms", "p95 budget ms"};
+        int i = 1;
+        for (Map.Entry<String, ? extends AbstractHistogram> entry : histograms.entrySet()) {
+            AbstractHistogram histogram = entry.getValue();
+            Long budget = budgets.get(entry.getKey());
+            rows[i++] = new String[]{entry.getKey(), String.valueOf(histogram.getTotalCount()),
+                    millis(histogram.getValueAtPercentile(50)), millis(histogram.getValueAtPercentile(95)),
+                    millis(histogram.getValueAtPercentile(99)), millis(histogram.getMaxValue()),
+                    budget != null ? String.valueOf(budget) : "-"};
+        }
+        return rows;
+    }
+
+    /**
+     * Builds the endpoint key of a call, replacing numeric path segments with {@code {id}}.
+     *
+     * @param method The HTTP method.
+     * @param path   The request path without query.
+     * @return the endpoint key, e.g. {@code GET /booking/{id}}.
+     */
+    public static String endpoint(String method, String path) {
+        StringBuilder key = new StringBuilder(method.length() + path.length() + 4).append(method).append(' ');
+        int start = 0;
+        while (start <= path.length()) {
+            int end = path.indexOf('/', start);
+            if (end < 0) {
+                end = path.length();
+            }
+            boolean numeric = end > start;
+            for (int i = start; i < end && numeric; i++) {
+                numeric = Character.isDigit(path.charAt(i));
+            }
+            if (numeric) {
+                key.append("{id}");
+            } else {
+                key.append(path, start, end);
+            }
+            if (end < path.length()) {
+                key.append('/');
+            }
+            start = end + 1;
+        }
+        return key.toString();
+    }
+
+    /**
+     * Latencies per endpoint of one test, recorded from any thread of the test.
+     */
+    public static final class Scope {
+
+        /**
+         * Latencies per endpoint.
+         */
+        private final Map<String, ConcurrentHistogram> histograms = new ConcurrentHashMap<>();
+
+        /**
+         * Set once the test has ended.
+         */
+        private volatile boolean closed;
+
+        /**
+         * Creates an open scope.
+         */
+        private Scope() {
+        }
+    }
+
+    /**
+     * Formats microseconds as milliseconds with one decimal.
+     *
+     * @param micros The value in microseconds.
+     * @return the formatted milliseconds.
+     */
+    private static String millis(long micros) {
+        return String.format("%.1f", micros / 1000.0);
+    }
+}
@@ -0,0 +1,54 @@
+package org.intigral.assignment.filters;
+
+import io.restassured.filter.Filter;
+import io.restassured.filter.FilterContext;
+import io.restassured.response.Response;
+import io.restassured.specification.FilterableRequestSpecification;
+import io.restassured.specification.FilterableResponseSpecification;
+import org.intigral.assignment.utils.AdaptiveRateLimiter;
+
+/**
+ * RestAssured filter pacing every request through a shared {@link AdaptiveRateLimiter} and
+ * feeding each response's status and latency back to it. It should run before the latency
+ * filters, so time spent waiting for a permit is not reported as server latency.
+ */
+public class RateLimitFilter implements Filter {
+
+    /**
+     * The shared limiter.
+     */
+    private final AdaptiveRateLimiter limiter;
+
+    /**
+     * Creates a filter.
+     *
+     * @param limiter The shared limiter.
+     */
+    public RateLimitFilter(AdaptiveRateLimiter limiter) {
+        this.limiter = limiter;
+    }
+
+    /**
+     * Waits for a permit, sends the request and records its outcome.
+     *
+     * @param requestSpec  The request about to be sent.
+     * @param responseSpec The response specification.
+     * @param ctx          The filter context.
+     * @return the unmodified response.
+     */
+    @Override
+    public Response filter(FilterableRequestSpecification requestSpec,
+                           FilterableResponseSpecification responseSpec,
+                           FilterContext ctx) {
+        limiter.acquire();
+        long start = System.nanoTime();
+        int status = 0;
+        try {
+            Response response = ctx.next(requestSpec, responseSpec);
+            status = response.statusCode();
+            return response;
+        } finally {
+            limiter.record(status, System.nanoTime() - start);
+        }
+    }
+}
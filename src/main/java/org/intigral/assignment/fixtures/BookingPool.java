@@ -0,0 +1,245 @@
+package org.intigral.assignment.fixtures;
+
+import org.intigral.assignment.client.ApiClient;
+import org.intigral.assignment.client.ApiRequest;
+import org.intigral.assignment.models.Booking;
+import org.intigral.assignment.models.BookingCodec;
+import org.intigral.assignment.models.BookingResponse;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Pool of bookings created up front, so tests that only need an existing booking make no setup request.
+ * <p>
+ * Each slot holds one booking and a reader count. Read-only tests {@link #lease()} a booking by
+ * incrementing the count with a CAS; any number of tests may read the same booking at once. Tests that
+ * modify or delete a booking {@link #checkout()} one exclusively: a slot without readers is taken by a
+ * CAS from 0 to -1, its booking handed over for good, and a replacement created in the background while
+ * the slot stays unavailable. When no slot is available a booking is created on demand instead.
+ */
+public class BookingPool implements AutoCloseable {
+
+    /**
+     * Reader count of a slot that is empty, being refilled, or checked out.
+     */
+    private static final int UNAVAILABLE = -1;
+
+    /**
+     * Client bound to the target base URI.
+     */
+    private final ApiClient client;
+
+    /**
+     * Booking endpoint path.
+     */
+    private final String bookingEndpoint;
+
+    /**
+     * Produces the payload of each booking.
+     */
+    private final Supplier<Booking> template;
+
+    /**
+     * The slots.
+     */
+    private final Slot[] slots;
+
+    /**
+     * Spreads the starting slot of successive searches.
+     */
+    private final AtomicInteger next = new AtomicInteger();
+
+    /**
+     * Creates and replaces bookings.
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Creates an empty pool; {@link #fill()} provisions it.
+     *
+     * @param client          Client bound to the target base URI.
+     * @param bookingEndpoint Booking endpoint path.
+     * @param size            Number of pooled bookings, at least 1.
+     * @param template        Produces the payload of each booking.
+     */
+    public BookingPool(ApiClient client, String bookingEndpoint, int size, Supplier<Booking> template) {
+        if (size < 1) {
+            throw new IllegalArgumentException("Pool size must be positive: " + size);
+        }
+        this.client = client;
+        this.bookingEndpoint = bookingEndpoint;
+        this.template = template;
+        this.slots = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            slots[i] = new Slot();
+        }
+    }
+
+    /**
+     * Creates every pooled booking concurrently and waits for them.
+     *
+     * @return this pool.
+     * @throws java.util.concurrent.CompletionException if a booking cannot be created.
+     */
+    public BookingPool fill() {
+        CompletableFuture<?>[] created = new CompletableFuture<?>[slots.length];
+        for (int i = 0; i < slots.length; i++) {
+            Slot slot = slots[i];
+            created[i] = CompletableFuture.runAsync(() -> slot.fill(create()), executor);
+        }
+        CompletableFuture.allOf(created).join();
+        return this;
+    }
+
+    /**
+     * Leases a booking for reading. Closing the lease returns it.
+     *
+     * @return the lease.
+     */
+    public Lease lease() {
+        int start = next.getAndIncrement();
+        for (int i = 0; i < slots.length; i++) {
+            Slot slot = slots[Math.floorMod(start + i, slots.length)];
+            for (int readers = slot.readers.get(); readers != UNAVAILABLE; readers = slot.readers.get()) {
+                if (slot.readers.compareAndSet(readers, readers + 1)) {
+                    return new Lease(slot.booking, slot);
+                }
+            }
+        }
+        return new Lease(create(), null);
+    }
+
+    /**
+     * Takes a booking for exclusive use. It never returns to the pool, so the caller may update or
+     * delete it; its slot is refilled in the background.
+     *
+     * @return the booking.
+     */
+    public BookingResponse checkout() {
+        int start = next.getAndIncrement();
+        for (int i = 0; i < slots.length; i++) {
+            Slot slot = slots[Math.floorMod(start + i, slots.length)];
+            if (slot.readers.compareAndSet(0, UNAVAILABLE)) {
+                BookingResponse booking = slot.booking;
+                executor.execute(() -> replenish(slot));
+                return booking;
+            }
+        }
+        return create();
+    }
+
+    /**
+     * Waits for replacements still being created.
+     */
+    @Override
+    public void close() {
+        executor.close();
+    }
+
+    /**
+     * Refills a checked-out slot. A slot that cannot be refilled stays unavailable.
+     *
+     * @param slot The slot.
+     */
+    private void replenish(Slot slot) {
+        try {
+            slot.fill(create());
+        } catch (RuntimeException | AssertionError e) {
+            System.out.println("Booking pool could not replace a booking: " + e);
+        }
+    }
+
+    /**
+     * Creates a booking.
+     *
+     * @return the created booking.
+     * @throws AssertionError if the booking is not created.
+     */
+    private BookingResponse create() {
+        return client.given()
+                .contentType(ApiRequest.JSON)
+                .body(BookingCodec.toBytes(template.get()))
+                .post(bookingEndpoint)
+                .then()
+                .statusCode(200)
+                .extract()
+                .booking();
+    }
+
+    /**
+     * A pooled booking and its reader count.
+     */
+    private static final class Slot {
+
+        /**
+         * Readers of the booking, or {@link #UNAVAILABLE}.
+         */
+        final AtomicInteger readers = new AtomicInteger(UNAVAILABLE);
+
+        /**
+         * The booking, published to readers by the write of {@link #readers}.
+         */
+        BookingResponse booking;
+
+        /**
+         * Installs a booking and makes the slot available.
+         *
+         * @param created The booking.
+         */
+        void fill(BookingResponse created) {
+            booking = created;
+            readers.set(0);
+        }
+    }
+
+    /**
+     * A read lease on a booking.
+     */
+    public static final class Lease implements AutoCloseable {
+
+        /**
+         * The leased booking.
+         */
+        private final BookingResponse booking;
+
+        /**
+         * The slot to return to, or {@code null} for a booking created on demand.
+         */
+        private Slot slot;
+
+        /**
+         * Creates a lease.
+         *
+         * @param booking The leased booking.
+         * @param slot    The slot to return to, or {@code null}.
+         */
+        private Lease(BookingResponse booking, Slot slot) {
+            this.booking = booking;
+            this.slot = slot;
+        }
+
+        /**
+         * Gets the leased booking, which must not be modified.
+         *
+         * @return the booking.
+         */
+        public BookingResponse booking() {
+            return booking;
+        }
+
+        /**
+         * Returns the booking to the pool.
+         */
+        @Override
+        public void close() {
+            if (slot != null) {
+                slot.readers.decrementAndGet();
+                slot = null;
+            }
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package org.intigral.assignment.fixtures;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * A named, typed piece of test data, such as a created booking, built once per suite by a
+ * {@link FixtureScheduler}. A fixture declares the fixtures it is built from when it is created,
+ * so the dependency graph is explicit and, since a fixture can only name fixtures that already
+ * exist, acyclic.
+ *
+ * @param <T> The type of the fixture's result.
+ */
+public final class Fixture<T> {
+
+    /**
+     * Name used in messages.
+     */
+    private final String name;
+
+    /**
+     * Fixtures this one is built from.
+     */
+    private final List<Fixture<?>> dependencies;
+
+    /**
+     * Builds the result from the results of the dependencies.
+     */
+    private final Function<FixtureResults, T> body;
+
+    /**
+     * Creates a fixture.
+     *
+     * @param name         Name used in messages.
+     * @param dependencies Fixtures this one is built from.
+     * @param body         Builds the result from the results of the dependencies.
+     */
+    private Fixture(String name, List<Fixture<?>> dependencies, Function<FixtureResults, T> body) {
+        this.name = name;
+        this.dependencies = dependencies;
+        this.body = body;
+    }
+
+    /**
+     * Declares a fixture.
+     *
+     * @param name         Name used in messages.
+     * @param body         Builds the result; it may only read the declared dependencies.
+     * @param dependencies Fixtures this one is built from.
+     * @param <T>          The type of the result.
+     * @return the fixture.
+     */
+    public static <T> Fixture<T> of(String name, Function<FixtureResults, T> body, Fixture<?>... dependencies) {
+        return new Fixture<>(name, List.of(dependencies), body);
+    }
+
+    /**
+     * Gets the name.
+     *
+     * @return the name.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * Gets the fixtures this one is built from.
+     *
+     * @return the dependencies.
+     */
+    public List<Fixture<?>> dependencies() {
+        return dependencies;
+    }
+
+    /**
+     * Builds the result.
+     *
+     * @param results The results of the dependencies.
+     * @return the result.
+     */
+    T create(FixtureResults results) {
+        return body.apply(results);
+    }
+
+    /**
+     * Returns the name.
+     *
+     * @return the name.
+     */
+    @Override
+    public String toString() {
+        return name;
+    }
+}
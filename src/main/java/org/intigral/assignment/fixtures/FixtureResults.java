@@ -0,0 +1,17 @@
+package org.intigral.assignment.fixtures;
+
+/**
+ * The results a fixture is built from.
+ */
+public interface FixtureResults {
+
+    /**
+     * Gets the result of a declared dependency.
+     *
+     * @param dependency The dependency.
+     * @param <T>        The type of its result.
+     * @return the result.
+     * @throws IllegalArgumentException if the fixture was not declared as a dependency.
+     */
+    <T> T get(Fixture<T> dependency);
+}
@@ -0,0 +1,133 @@
+package org.intigral.assignment.fixtures;
+
+import org.intigral.assignment.filters.CassetteFilter;
+import org.testng.SkipException;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Builds {@link Fixture}s on demand, each at most once, on virtual threads.
+ * <p>
+ * Asking for a fixture starts it and, concurrently, any of its dependencies not yet started; a fixture
+ * runs as soon as its own dependencies are done. Tests therefore wait only for the fixtures they use,
+ * and with parallel test methods a suite takes about as long as its longest chain of fixtures and
+ * tests rather than the sum of them. A failed fixture fails every fixture built from it.
+ * Each fixture runs in its own cassette track, so its recorded exchanges do not depend on which test
+ * started it.
+ * Results that are {@link AutoCloseable}, such as a {@link BookingPool}, are closed with the scheduler.
+ */
+public class FixtureScheduler implements AutoCloseable {
+
+    /**
+     * Runs fixture bodies.
+     */
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    /**
+     * Result of every started fixture.
+     */
+    private final Map<Fixture<?>, CompletableFuture<?>> results = new ConcurrentHashMap<>();
+
+    /**
+     * Starts a fixture and its dependencies if they are not started yet.
+     *
+     * @param fixture The fixture.
+     * @param <T>     The type of its result.
+     * @return the future result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> CompletableFuture<T> start(Fixture<T> fixture) {
+        CompletableFuture<?> started = results.get(fixture);
+        if (started != null) {
+            return (CompletableFuture<T>) started;
+        }
+        // Start dependencies outside computeIfAbsent, which must not be re-entered
+        CompletableFuture<?>[] dependencies = fixture.dependencies().stream()
+                .map(this::start)
+                .toArray(CompletableFuture[]::new);
+        return (CompletableFuture<T>) results.computeIfAbsent(fixture, key -> CompletableFuture.allOf(dependencies)
+                .thenApplyAsync(ignored -> CassetteFilter.inTrack("fixture " + fixture.name(),
+                        () -> fixture.create(resultsOf(fixture))), executor));
+    }
+
+    /**
+     * Gets the result of a fixture the calling test is about, waiting for it if necessary.
+     * A failure of the fixture is rethrown as is, so it fails the test.
+     *
+     * @param fixture The fixture.
+     * @param <T>     The type of its result.
+     * @return the result.
+     */
+    public <T> T get(Fixture<T> fixture) {
+        try {
+            return start(fixture).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Fixture " + fixture + " failed", cause);
+        }
+    }
+
+    /**
+     * Gets the result of a fixture the calling test depends on, waiting for it if necessary.
+     * A failure of the fixture skips the test, as a failed {@code dependsOnMethods} would.
+     *
+     * @param fixture The fixture.
+     * @param <T>     The type of its result.
+     * @return the result.
+     * @throws SkipException if the fixture failed.
+     */
+    public <T> T require(Fixture<T> fixture) {
+        try {
+            return start(fixture).join();
+        } catch (CompletionException e) {
+            throw new SkipException("Fixture " + fixture + " failed: " + e.getCause(), e.getCause());
+        }
+    }
+
+    /**
+     * Waits for running fixtures, stops the executor and closes the results that need it.
+     */
+    @Override
+    public void close() {
+        executor.close();
+        for (CompletableFuture<?> result : results.values()) {
+            if (!result.isCompletedExceptionally() && result.join() instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception e) {
+                    System.out.println("Failed to close fixture: " + e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gives a fixture's body access to the results of its declared dependencies, all complete by then.
+     *
+     * @param fixture The fixture being built.
+     * @return its dependency results.
+     */
+    private FixtureResults resultsOf(Fixture<?> fixture) {
+        return new FixtureResults() {
+            @Override
+            @SuppressWarnings("unchecked")
+            public <T> T get(Fixture<T> dependency) {
+                if (!fixture.dependencies().contains(dependency)) {
+                    throw new IllegalArgumentException(fixture + " does not declare " + dependency);
+                }
+                return (T) results.get(dependency).join();
+            }
+        };
+    }
+}
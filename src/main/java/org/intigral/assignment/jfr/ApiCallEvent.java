@@ -0,0 +1,46 @@
+package org.intigral.assignment.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted for each API call, spanning the call on the client thread so it
+ * lines up with GC, allocation and thread events of the same recording.
+ */
+@Name("org.intigral.ApiCall")
+@Label("API Call")
+@Category({"Intigral", "API"})
+@Description("An HTTP call made through the RestAssured or JDK HttpClient engine")
+@StackTrace(false)
+public class ApiCallEvent extends jdk.jfr.Event {
+
+    /**
+     * HTTP method and path template, e.g. {@code GET /booking/{id}}.
+     */
+    @Label("Endpoint")
+    public String endpoint;
+
+    /**
+     * Response status code, or {@code 0} if the call failed without a response.
+     */
+    @Label("Status")
+    public int status;
+
+    /**
+     * Request body size.
+     */
+    @Label("Request Size")
+    @DataAmount
+    public long requestBytes;
+
+    /**
+     * Response body size.
+     */
+    @Label("Response Size")
+    @DataAmount
+    public long responseBytes;
+}
@@ -0,0 +1,42 @@
+package org.intigral.assignment.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Flight Recorder event emitted for each test method, from its start to its outcome.
+ */
+@Name("org.intigral.TestExecution")
+@Label("Test Execution")
+@Category({"Intigral", "Tests"})
+@Description("A TestNG test method invocation")
+@StackTrace(false)
+public class TestExecutionEvent extends jdk.jfr.Event {
+
+    /**
+     * Test class name.
+     */
+    @Label("Test Class")
+    public String testClass;
+
+    /**
+     * Test method name.
+     */
+    @Label("Test Method")
+    public String testMethod;
+
+    /**
+     * Data provider parameters, if any.
+     */
+    @Label("Parameters")
+    public String parameters;
+
+    /**
+     * Outcome: {@code PASS}, {@code FAIL} or {@code SKIP}.
+     */
+    @Label("Status")
+    public String status;
+}
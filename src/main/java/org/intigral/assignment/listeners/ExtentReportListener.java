@@ -1,100 +1,214 @@
 package org.intigral.assignment.listeners;
 
-import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
-import com.aventstack.extentreports.reporter.ExtentSparkReporter;
-import org.testng.ITestContext;
+import org.HdrHistogram.Histogram;
+import org.intigral.assignment.filters.CassetteFilter;
+import org.intigral.assignment.filters.ExchangeCaptureFilter;
+import org.intigral.assignment.filters.LatencyFilter;
+import org.intigral.assignment.jfr.TestExecutionEvent;
+import org.intigral.assignment.shard.ShardPlan;
+import org.intigral.assignment.utils.AdaptiveRateLimiter;
+import org.intigral.assignment.utils.ConfigManager;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
 import org.testng.ITestListener;
 import org.testng.ITestResult;
 
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
 /**
  * Listener class for integrating TestNG with ExtentReports.
- * This class implements the {@link ITestListener} interface to generate
+ * This class implements the {@link ITestListener} and {@link ISuiteListener} interfaces to generate
  * ExtentReports for the test execution lifecycle.
+ * Test threads only enqueue events; a single background {@link ReportWriter} owns the report,
+ * so parallel test methods and data-provider rows never block on reporting.
+ * Latency tables recorded by {@link LatencyBudgetListener} are attached to each test, and each
+ * test is also emitted as a {@link TestExecutionEvent} when Flight Recorder is recording.
+ * Load and lifecycle runs stream each request they send through {@link #recordRequest}.
+ * In a sharded run each shard writes its own report and results file, merged by {@link ReportMerger}.
  */
-public class ExtentReportListener implements ITestListener {
+public class ExtentReportListener implements ITestListener, ISuiteListener {
 
-    // Shared ExtentReports instance for generating the report
-    private static ExtentReports extent;
+    /**
+     * Result attribute holding the running Flight Recorder event of a test.
+     */
+    private static final String JFR_EVENT_ATTRIBUTE = "jfrEvent";
 
-    // Thread-safe container for ExtentTest instances
-    private static ThreadLocal<ExtentTest> test = new ThreadLocal<>();
+    // Writer for the suite's single report, shared by every listener instance
+    private static volatile ReportWriter writer;
 
     /**
-     * Called before the start of the test suite. Initializes ExtentReports and configures the reporter.
+     * Called before the start of the test suite. Creates the report and starts its writer.
      *
-     * @param context TestNG context providing suite-level information
+     * @param suite TestNG suite being started
      */
     @Override
-    public void onStart(ITestContext context) {
-        System.out.println("Initializing ExtentReports...");
-        ExtentSparkReporter sparkReporter = new ExtentSparkReporter("target/ExtentReport.html");
-        sparkReporter.config().setReportName("API Test Report");
-        sparkReporter.config().setDocumentTitle("Test Report");
-
-        extent = new ExtentReports();
-        extent.attachReporter(sparkReporter);
-        extent.setSystemInfo("Environment", "Test");
-        extent.setSystemInfo("Tester", "Your Name");
-
-        System.out.println("ExtentReports initialized.");
+    public void onStart(ISuite suite) {
+        synchronized (ExtentReportListener.class) {
+            if (writer == null) {
+                System.out.println("Initializing ExtentReports...");
+                writer = new ReportWriter(ShardPlan.localPath(ConfigManager.get("reportPath")),
+                        Path.of(ShardPlan.localPath(ConfigManager.get("resultsPath"))),
+                        ConfigManager.getBoolean("reportTestNodes"),
+                        ConfigManager.getLong("reportFlushIntervalMillis"));
+            }
+        }
     }
 
     /**
-     * Called when a test method starts. Creates a new ExtentTest instance for the test.
+     * Called when a test method starts. Queues the creation of its ExtentTest.
      *
      * @param result Provides information about the test method
      */
     @Override
     public void onTestStart(ITestResult result) {
-        System.out.println("Starting test: " + result.getMethod().getMethodName());
-        ExtentTest extentTest = extent.createTest(result.getMethod().getMethodName());
-        test.set(extentTest);
+        ExchangeCaptureFilter.beginTest();
+        CassetteFilter.beginTrack(trackName(result));
+        TestExecutionEvent event = new TestExecutionEvent();
+        if (event.isEnabled()) {
+            event.begin();
+            result.setAttribute(JFR_EVENT_ATTRIBUTE, event);
+        }
+        submit(ReportEvent.Type.START, result, null, null);
     }
 
     /**
-     * Called when a test method passes. Marks the test as passed in the ExtentReport.
+     * Called when a test method passes. Queues marking the test as passed.
      *
      * @param result Provides information about the test method
      */
     @Override
     public void onTestSuccess(ITestResult result) {
-        System.out.println("Test passed: " + result.getMethod().getMethodName());
-        test.get().pass("Test passed");
+        ExchangeCaptureFilter.clear();
+        CassetteFilter.endTrack();
+        commitEvent(result, "PASS");
+        submit(ReportEvent.Type.PASS, result, null, null);
     }
 
     /**
-     * Called when a test method fails. Logs the failure and exception details in the ExtentReport.
+     * Called when a test method fails. Queues the failure and exception details,
+     * together with the HTTP exchanges captured in the test's scope.
      *
      * @param result Provides information about the test method
      */
     @Override
     public void onTestFailure(ITestResult result) {
-        System.out.println("Test failed: " + result.getMethod().getMethodName());
-        test.get().fail(result.getThrowable());
+        String exchanges = ExchangeCaptureFilter.drain();
+        CassetteFilter.endTrack();
+        commitEvent(result, "FAIL");
+        submit(ReportEvent.Type.FAIL, result, result.getThrowable(), exchanges.isEmpty() ? null : exchanges);
     }
 
     /**
-     * Called when a test method is skipped. Logs the skip reason in the ExtentReport.
+     * Called when a test method is skipped. Queues the skip reason.
      *
      * @param result Provides information about the test method
      */
     @Override
     public void onTestSkipped(ITestResult result) {
-        System.out.println("Test skipped: " + result.getMethod().getMethodName());
-        test.get().skip("Test skipped: " + result.getThrowable());
+        ExchangeCaptureFilter.clear();
+        CassetteFilter.endTrack();
+        commitEvent(result, "SKIP");
+        submit(ReportEvent.Type.SKIP, result, result.getThrowable(), null);
     }
 
     /**
-     * Called after the completion of the test suite. Finalizes and flushes the ExtentReports instance.
+     * Called after the completion of the test suite. Adds the suite-wide latency and rate limit tables, then drains
+     * the remaining events and flushes the report.
      *
-     * @param context TestNG context providing suite-level information
+     * @param suite TestNG suite that finished
      */
     @Override
-    public void onFinish(ITestContext context) {
-        System.out.println("Finalizing ExtentReports...");
-        System.out.println("Tests logged: " + extent.getStats());
-        extent.flush();
-        System.out.println("ExtentReports finalized.");
+    public void onFinish(ISuite suite) {
+        synchronized (ExtentReportListener.class) {
+            if (writer != null) {
+                Map<String, Histogram> histograms = LatencyFilter.suiteHistograms();
+                if (!histograms.isEmpty()) {
+                    writer.submit(new ReportEvent(ReportEvent.Type.NOTE, null, "Latency summary", null, null,
+                            LatencyFilter.table(histograms, LatencyBudgetListener.configuredBudgets())));
+                }
+                AdaptiveRateLimiter limiter = AdaptiveRateLimiter.shared();
+                if (limiter != null) {
+                    writer.submit(new ReportEvent(ReportEvent.Type.NOTE, null, "Rate limit", null, null, limiter.table()));
+                }
+                System.out.println("Finalizing ExtentReports...");
+                writer.close();
+                writer = null;
+            }
+        }
+    }
+
+    /**
+     * Streams the outcome of one request of a load or lifecycle run to the results file without blocking.
+     * Does nothing outside a suite run with this listener.
+     *
+     * @param source       The kind of run, e.g. {@code load} or {@code lifecycle}.
+     * @param operation    The operation or step the request belongs to.
+     * @param latencyNanos Time from the request's start until its response was checked.
+     * @param success      Whether the request succeeded.
+     * @param error        The failure, possibly {@code null}.
+     */
+    public static void recordRequest(String source, String operation, long latencyNanos, boolean success, String error) {
+        ReportWriter current = writer;
+        if (current != null) {
+            long latencyMicros = TimeUnit.NANOSECONDS.toMicros(latencyNanos);
+            current.submit(new RequestRecord(source, operation, System.currentTimeMillis() - latencyMicros / 1000,
+                    latencyMicros, success, error));
+        }
+    }
+
+    /**
+     * Names the cassette track of a test: its class, method and, for a data-provider row, parameters.
+     *
+     * @param result The TestNG result.
+     * @return the track name.
+     */
+    private static String trackName(ITestResult result) {
+        String name = result.getTestClass().getName() + "." + result.getMethod().getMethodName();
+        Object[] parameters = result.getParameters();
+        return parameters != null && parameters.length > 0 ? name + ShardPlan.describe(parameters) : name;
+    }
+
+    /**
+     * Ends and commits the Flight Recorder event of a test. Tests skipped before they started
+     * get an event without duration.
+     *
+     * @param result The TestNG result.
+     * @param status The outcome.
+     */
+    private static void commitEvent(ITestResult result, String status) {
+        TestExecutionEvent event = (TestExecutionEvent) result.removeAttribute(JFR_EVENT_ATTRIBUTE);
+        if (event == null) {
+            event = new TestExecutionEvent();
+            if (!event.isEnabled()) {
+                return;
+            }
+        }
+        event.end();
+        if (event.shouldCommit()) {
+            event.testClass = result.getTestClass().getName();
+            event.testMethod = result.getMethod().getMethodName();
+            Object[] parameters = result.getParameters();
+            event.parameters = parameters != null && parameters.length > 0 ? ShardPlan.describe(parameters) : null;
+            event.status = status;
+            event.commit();
+        }
+    }
+
+    /**
+     * Hands an event to the writer without blocking.
+     *
+     * @param type      The kind of event.
+     * @param result    The TestNG result.
+     * @param throwable The failure or skip cause, possibly {@code null}.
+     * @param detail    Additional text for the report, possibly {@code null}.
+     */
+    private static void submit(ReportEvent.Type type, ITestResult result, Throwable throwable, String detail) {
+        ReportWriter current = writer;
+        if (current != null) {
+            String[][] latencies = (String[][]) result.getAttribute(LatencyBudgetListener.TABLE_ATTRIBUTE);
+            current.submit(new ReportEvent(type, result, result.getMethod().getMethodName(), throwable, detail, latencies));
+        }
     }
 }
@@ -0,0 +1,130 @@
+package org.intigral.assignment.listeners;
+
+import org.HdrHistogram.Histogram;
+import org.intigral.assignment.annotations.LatencyBudget;
+import org.intigral.assignment.filters.LatencyFilter;
+import org.intigral.assignment.utils.ConfigManager;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+import java.lang.reflect.Method;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Listener enforcing per-endpoint p95 latency budgets on test methods.
+ * Each test method invocation opens a {@link LatencyFilter} scope, covering its thread and the threads
+ * it starts; afterwards the recorded latencies are checked against the {@code latencyBudgets}
+ * configuration and any {@link LatencyBudget} annotations of the method. A passing test that exceeds a budget is turned
+ * into a failure, and the percentile table is attached to the result for the report.
+ */
+public class LatencyBudgetListener implements IInvokedMethodListener {
+
+    /**
+     * Result attribute holding the percentile table of the test's calls.
+     */
+    public static final String TABLE_ATTRIBUTE = "latencyTable";
+
+    /**
+     * p95 budgets in milliseconds per endpoint from configuration.
+     */
+    private static final Map<String, Long> configuredBudgets = parseBudgets(ConfigManager.get("latencyBudgets"));
+
+    /**
+     * Opens the latency scope of a test method.
+     *
+     * @param method     The method about to be invoked.
+     * @param testResult The result of the invocation.
+     */
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            LatencyFilter.beginTest();
+        }
+    }
+
+    /**
+     * Closes the latency scope of a test method, attaches its percentile table and fails the
+     * test if a budget was exceeded.
+     *
+     * @param method     The method just invoked.
+     * @param testResult The result of the invocation.
+     */
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+        Map<String, Histogram> histograms = LatencyFilter.endTest();
+        if (histograms.isEmpty()) {
+            return;
+        }
+        Map<String, Long> budgets = budgets(method.getTestMethod().getConstructorOrMethod().getMethod());
+        testResult.setAttribute(TABLE_ATTRIBUTE, LatencyFilter.table(histograms, budgets));
+
+        StringBuilder violations = new StringBuilder();
+        histograms.forEach((endpoint, histogram) -> {
+            Long budget = budgets.get(endpoint);
+            long p95Millis = TimeUnit.MICROSECONDS.toMillis(histogram.getValueAtPercentile(95));
+            if (budget != null && p95Millis > budget) {
+                violations.append(violations.isEmpty() ? "" : "; ")
+                        .append(endpoint).append(" p95 ").append(p95Millis).append(" ms > ").append(budget).append(" ms");
+            }
+        });
+        if (!violations.isEmpty() && testResult.getStatus() == ITestResult.SUCCESS) {
+            testResult.setStatus(ITestResult.FAILURE);
+            testResult.setThrowable(new AssertionError("Latency budget exceeded: " + violations));
+        }
+    }
+
+    /**
+     * Gets the configured p95 budgets in milliseconds per endpoint.
+     *
+     * @return the budgets.
+     */
+    public static Map<String, Long> configuredBudgets() {
+        return configuredBudgets;
+    }
+
+    /**
+     * Merges the configured budgets with the annotations of a test method.
+     *
+     * @param method The test method, possibly {@code null}.
+     * @return the budgets in milliseconds per endpoint.
+     */
+    private static Map<String, Long> budgets(Method method) {
+        LatencyBudget[] annotations = method != null ? method.getAnnotationsByType(LatencyBudget.class) : new LatencyBudget[0];
+        if (annotations.length == 0) {
+            return configuredBudgets;
+        }
+        Map<String, Long> budgets = new HashMap<>(configuredBudgets);
+        for (LatencyBudget annotation : annotations) {
+            budgets.put(annotation.endpoint(), annotation.p95Millis());
+        }
+        return budgets;
+    }
+
+    /**
+     * Parses budgets of the form {@code METHOD /path:millis,...}.
+     *
+     * @param text The configured budgets, possibly empty.
+     * @return the budgets in milliseconds per endpoint.
+     * @throws IllegalArgumentException if an entry is malformed.
+     */
+    private static Map<String, Long> parseBudgets(String text) {
+        Map<String, Long> budgets = new HashMap<>();
+        if (text == null || text.isBlank()) {
+            return Map.of();
+        }
+        for (String entry : text.split(",")) {
+            int separator = entry.lastIndexOf(':');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("Invalid latency budget: " + entry);
+            }
+            budgets.put(entry.substring(0, separator).trim(), Long.parseLong(entry.substring(separator + 1).trim()));
+        }
+        return Map.copyOf(budgets);
+    }
+}
@@ -0,0 +1,27 @@
+package org.intigral.assignment.listeners;
+
+import org.testng.ITestResult;
+
+/**
+ * Test lifecycle event handed from test threads to the {@link ReportWriter}.
+ *
+ * @param type      The kind of event.
+ * @param result    The TestNG result the event belongs to, used to correlate events of one test.
+ * @param name      The test name shown in the report.
+ * @param throwable The failure or skip cause, possibly {@code null}.
+ * @param detail    Additional text attached to the test, possibly {@code null}.
+ * @param table     A table attached to the test, header row first, possibly {@code null}.
+ */
+record ReportEvent(Type type, ITestResult result, String name, Throwable throwable, String detail, String[][] table) {
+
+    /**
+     * Kinds of report events.
+     */
+    enum Type {
+        START, PASS, FAIL, SKIP,
+        /**
+         * A standalone report node carrying only the table, not tied to a test result.
+         */
+        NOTE
+    }
+}
@@ -0,0 +1,179 @@
+package org.intigral.assignment.listeners;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.intigral.assignment.shard.ShardPlan;
+import org.intigral.assignment.utils.ConfigManager;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * Merges the results files of a sharded run into one results file and one HTML report at the
+ * configured {@code resultsPath} and {@code reportPath}. The report has a node per test (unless
+ * {@code reportTestNodes} is off), a table of the shards with their wall time, and the usual run
+ * summary. Lines are streamed, so merging needs the same memory for any number of tests.
+ */
+public class ReportMerger {
+
+    /**
+     * Merges the shards of {@code shardCount}, or the results files given as arguments.
+     * Exits with status 1 if any test failed.
+     *
+     * @param args Results files to merge; by default the shard files next to {@code resultsPath}.
+     */
+    public static void main(String[] args) {
+        List<Path> inputs = new ArrayList<>();
+        if (args.length > 0) {
+            for (String arg : args) {
+                inputs.add(Path.of(arg));
+            }
+        } else {
+            for (int shard = 0; shard < ShardPlan.configuredCount(); shard++) {
+                inputs.add(Path.of(ShardPlan.shardPath(ConfigManager.get("resultsPath"), shard)));
+            }
+        }
+        long failed = merge(inputs, Path.of(ConfigManager.get("resultsPath")), ConfigManager.get("reportPath"),
+                ConfigManager.getBoolean("reportTestNodes"));
+        System.exit(failed > 0 ? 1 : 0);
+    }
+
+    /**
+     * Merges results files.
+     *
+     * @param inputs      The results file of each shard, in shard order.
+     * @param resultsPath The merged results file.
+     * @param reportPath  The merged HTML report.
+     * @param testNodes   Whether each test gets its own node in the report.
+     * @return the number of failed tests.
+     * @throws IllegalStateException if a results file is missing.
+     */
+    public static long merge(List<Path> inputs, Path resultsPath, String reportPath, boolean testNodes) {
+        for (Path input : inputs) {
+            if (!Files.isRegularFile(input)) {
+                throw new IllegalStateException("Missing shard results: " + input);
+            }
+        }
+        ExtentReports extent = ReportWriter.newReport(reportPath);
+        String[][] shards = new String[inputs.size() + 1][];
+        shards[0] = new String[]{"Shard", "Results", "Tests", "Passed", "Failed", "Skipped", "Wall s"};
+        long failed = 0;
+        try {
+            if (resultsPath.getParent() != null) {
+                Files.createDirectories(resultsPath.getParent());
+            }
+            try (BufferedWriter out = Files.newBufferedWriter(resultsPath, StandardCharsets.UTF_8)) {
+                for (int shard = 0; shard < inputs.size(); shard++) {
+                    long[] counts = copy(inputs.get(shard), out, testNodes ? extent : null);
+                    failed += counts[1];
+                    shards[shard + 1] = new String[]{String.valueOf(shard), inputs.get(shard).toString(),
+                            String.valueOf(counts[0] + counts[1] + counts[2]), String.valueOf(counts[0]),
+                            String.valueOf(counts[1]), String.valueOf(counts[2]),
+                            String.format("%.1f", Math.max(0, counts[4] - counts[3]) / 1000.0)};
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to merge results into " + resultsPath, e);
+        }
+        extent.createTest("Shards").info(MarkupHelper.createTable(shards));
+        ReportWriter.summarize(extent, resultsPath);
+        extent.flush();
+        System.out.println("Merged " + inputs.size() + " shards into " + resultsPath + " and " + reportPath
+                + " (" + failed + " failed)");
+        return failed;
+    }
+
+    /**
+     * Appends a shard's results to the merged file and, optionally, its tests to the report.
+     *
+     * @param input  The shard's results file.
+     * @param out    The merged results file.
+     * @param extent The report, or {@code null} to skip test nodes.
+     * @return passed, failed and skipped counts, then the first start and last end in epoch milliseconds.
+     * @throws IOException if a file cannot be read or written.
+     */
+    private static long[] copy(Path input, BufferedWriter out, ExtentReports extent) throws IOException {
+        long[] counts = {0, 0, 0, Long.MAX_VALUE, 0};
+        try (BufferedReader in = Files.newBufferedReader(input, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                out.write(line);
+                out.newLine();
+                JsonObject result = JsonParser.parseString(line).getAsJsonObject();
+                String type = text(result, "type");
+                if (!type.isEmpty() && !type.equals("test")) {
+                    // Request records are copied for the summary but are not tests
+                    continue;
+                }
+                String status = text(result, "status");
+                counts[switch (status) {
+                    case "PASS" -> 0;
+                    case "FAIL" -> 1;
+                    default -> 2;
+                }]++;
+                long start = result.get("start").getAsLong();
+                long end = start + result.get("durationMillis").getAsLong();
+                counts[3] = Math.min(counts[3], start);
+                counts[4] = Math.max(counts[4], end);
+                if (extent != null) {
+                    addTest(extent, result, status, start, end);
+                }
+            }
+        }
+        if (counts[3] == Long.MAX_VALUE) {
+            counts[3] = 0;
+        }
+        return counts;
+    }
+
+    /**
+     * Adds one test node to the report, as the live report would have.
+     *
+     * @param extent The report.
+     * @param result The result line.
+     * @param status The outcome.
+     * @param start  The start in epoch milliseconds.
+     * @param end    The end in epoch milliseconds.
+     */
+    private static void addTest(ExtentReports extent, JsonObject result, String status, long start, long end) {
+        ExtentTest test = extent.createTest(text(result, "name"));
+        String parameters = text(result, "parameters");
+        if (!parameters.isEmpty()) {
+            test.info(parameters);
+        }
+        switch (status) {
+            case "PASS" -> test.pass("Test passed");
+            case "FAIL" -> test.fail(text(result, "error"));
+            default -> test.skip("Test skipped: " + text(result, "error"));
+        }
+        test.getModel().setStartTime(new Date(start));
+        test.getModel().setEndTime(new Date(end));
+    }
+
+    /**
+     * Gets a string field of a result line.
+     *
+     * @param result The parsed line.
+     * @param name   The field name.
+     * @return the value, or an empty string if absent.
+     */
+    private static String text(JsonObject result, String name) {
+        JsonElement value = result.get(name);
+        return value == null || value.isJsonNull() ? "" : value.getAsString();
+    }
+}
@@ -0,0 +1,309 @@
+package org.intigral.assignment.listeners;
+
+import com.aventstack.extentreports.ExtentReports;
+import com.aventstack.extentreports.ExtentTest;
+import com.aventstack.extentreports.markuputils.MarkupHelper;
+import com.aventstack.extentreports.reporter.ExtentSparkReporter;
+import org.testng.ITestResult;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background writer that owns the suite's single {@link ExtentReports} instance.
+ * Test threads only append events to a lock-free queue; this writer's thread drains it in
+ * batches, applies the events to the report and flushes the HTML periodically and on close,
+ * so reporting never blocks parallel test threads.
+ * Every finished test, and every {@link RequestRecord} of a load or lifecycle run, is also streamed
+ * to a JSONL {@link ResultSink}; at the end of the run the
+ * file is aggregated into a summary node of the report. For very large runs the per-test report
+ * nodes can be turned off, leaving only the streamed file and its summary.
+ */
+class ReportWriter {
+
+    /**
+     * How long the writer sleeps when the queue is empty.
+     */
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(20);
+
+    /**
+     * Events submitted by test threads, drained by the writer thread only.
+     */
+    private final Queue<ReportEvent> queue = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Request records submitted by sending threads, drained by the writer thread only.
+     */
+    private final Queue<RequestRecord> requests = new ConcurrentLinkedQueue<>();
+
+    /**
+     * The report, accessed by the writer thread only once started.
+     */
+    private final ExtentReports extent;
+
+    /**
+     * Extent tests of running tests, accessed by the writer thread only.
+     */
+    private final Map<ITestResult, ExtentTest> tests = new IdentityHashMap<>();
+
+    /**
+     * Streamed per-test and per-request results, accessed by the writer thread only.
+     */
+    private final ResultSink sink;
+
+    /**
+     * Path of the streamed results file.
+     */
+    private final Path resultsPath;
+
+    /**
+     * Whether each test gets its own node in the report.
+     */
+    private final boolean testNodes;
+
+    /**
+     * Minimum time between two flushes of the HTML report.
+     */
+    private final long flushIntervalNanos;
+
+    /**
+     * The writer thread.
+     */
+    private final Thread thread;
+
+    /**
+     * Cleared by {@link #close()} to stop the writer once the queue is drained.
+     */
+    private volatile boolean running = true;
+
+    /**
+     * Creates the report and starts the writer thread.
+     *
+     * @param path                The HTML report path.
+     * @param resultsPath         The JSONL results path.
+     * @param testNodes           Whether each test gets its own node in the report.
+     * @param flushIntervalMillis Minimum time between two flushes.
+     */
+    ReportWriter(String path, Path resultsPath, boolean testNodes, long flushIntervalMillis) {
+        this.extent = newReport(path);
+        this.resultsPath = resultsPath;
+        this.sink = new ResultSink(resultsPath);
+        this.testNodes = testNodes;
+        this.flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        this.thread = new Thread(this::run, "extent-report-writer");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Creates an empty HTML report.
+     *
+     * @param path The HTML report path.
+     * @return the report.
+     */
+    static ExtentReports newReport(String path) {
+        ExtentSparkReporter sparkReporter = new ExtentSparkReporter(path);
+        sparkReporter.config().setReportName("API Test Report");
+        sparkReporter.config().setDocumentTitle("Test Report");
+
+        ExtentReports extent = new ExtentReports();
+        extent.attachReporter(sparkReporter);
+        extent.setSystemInfo("Environment", "Test");
+        extent.setSystemInfo("Tester", "Your Name");
+        return extent;
+    }
+
+    /**
+     * Queues an event without blocking.
+     *
+     * @param event The event.
+     */
+    void submit(ReportEvent event) {
+        queue.offer(event);
+    }
+
+    /**
+     * Queues a request record without blocking.
+     *
+     * @param request The request record.
+     */
+    void submit(RequestRecord request) {
+        requests.offer(request);
+    }
+
+    /**
+     * Stops the writer after it has applied every queued event and flushed the report.
+     */
+    void close() {
+        running = false;
+        LockSupport.unpark(thread);
+        try {
+            thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Writer loop: drain, apply, flush when due, park when idle. A failing event or flush is logged
+     * and skipped, so it cannot stop reporting for the rest of the run.
+     */
+    private void run() {
+        long lastFlush = System.nanoTime();
+        boolean dirty = false;
+        try {
+            while (running) {
+                boolean applied = drain();
+                dirty |= applied;
+                if (dirty && System.nanoTime() - lastFlush >= flushIntervalNanos) {
+                    try {
+                        sink.flush();
+                        extent.flush();
+                        dirty = false;
+                    } catch (RuntimeException e) {
+                        System.out.println("Report flush failed, retrying at the next interval: " + e);
+                    }
+                    lastFlush = System.nanoTime();
+                }
+                if (!applied) {
+                    LockSupport.parkNanos(IDLE_PARK_NANOS);
+                }
+            }
+        } finally {
+            drain();
+            sink.close();
+            summarize(extent, resultsPath);
+            System.out.println("Tests logged: " + extent.getStats());
+            extent.flush();
+            System.out.println("ExtentReports finalized.");
+        }
+    }
+
+    /**
+     * Applies every queued event and writes every queued request record, logging and skipping any that fails.
+     *
+     * @return {@code true} if at least one event or record was taken from a queue.
+     */
+    private boolean drain() {
+        boolean applied = false;
+        RequestRecord request;
+        while ((request = requests.poll()) != null) {
+            try {
+                sink.write(request);
+            } catch (RuntimeException e) {
+                System.out.println("Request record of " + request.operation() + " could not be written: " + e);
+            }
+            applied = true;
+        }
+        ReportEvent event;
+        while ((event = queue.poll()) != null) {
+            try {
+                apply(event);
+            } catch (RuntimeException e) {
+                System.out.println("Report event " + event.type() + " of " + event.name() + " could not be written: " + e);
+            }
+            applied = true;
+        }
+        return applied;
+    }
+
+    /**
+     * Adds a summary node aggregated from a results file.
+     *
+     * @param extent      The report.
+     * @param resultsPath The results file.
+     */
+    static void summarize(ExtentReports extent, Path resultsPath) {
+        if (!Files.exists(resultsPath)) {
+            return;
+        }
+        ResultSummary summary = ResultSummary.read(resultsPath);
+        if (summary.total() == 0 && summary.requests() == 0) {
+            return;
+        }
+        ExtentTest node = extent.createTest("Run summary");
+        node.info(MarkupHelper.createTable(summary.totalsTable()));
+        node.info(MarkupHelper.createTable(summary.classTable()));
+        node.info(MarkupHelper.createTable(summary.slowestTable()));
+        if (summary.requests() > 0) {
+            node.info(MarkupHelper.createTable(summary.requestTable()));
+        }
+        String failures = summary.failureList();
+        if (!failures.isEmpty()) {
+            node.info(MarkupHelper.createCodeBlock(failures));
+        }
+    }
+
+    /**
+     * Applies one event to the report and the results file and echoes it to the console.
+     *
+     * @param event The event.
+     */
+    private void apply(ReportEvent event) {
+        if (event.type() == ReportEvent.Type.NOTE) {
+            extent.createTest(event.name()).info(MarkupHelper.createTable(event.table()));
+            return;
+        }
+        if (event.type() != ReportEvent.Type.START) {
+            sink.write(event);
+        }
+        if (!testNodes) {
+            return;
+        }
+        switch (event.type()) {
+            case START -> {
+                System.out.println("Starting test: " + event.name());
+                tests.put(event.result(), extent.createTest(event.name()));
+            }
+            case PASS -> {
+                System.out.println("Test passed: " + event.name());
+                attachTable(test(event), event).pass("Test passed");
+            }
+            case FAIL -> {
+                System.out.println("Test failed: " + event.name());
+                ExtentTest extentTest = attachTable(test(event), event);
+                extentTest.fail(event.throwable());
+                if (event.detail() != null) {
+                    System.out.println(event.detail());
+                    extentTest.info(MarkupHelper.createCodeBlock(event.detail()));
+                }
+            }
+            case SKIP -> {
+                System.out.println("Test skipped: " + event.name());
+                attachTable(test(event), event).skip("Test skipped: " + event.throwable());
+            }
+        }
+    }
+
+    /**
+     * Attaches the event's table, if any, to an Extent test.
+     *
+     * @param extentTest The Extent test.
+     * @param event      The event.
+     * @return the Extent test.
+     */
+    private static ExtentTest attachTable(ExtentTest extentTest, ReportEvent event) {
+        if (event.table() != null) {
+            extentTest.info(MarkupHelper.createTable(event.table()));
+        }
+        return extentTest;
+    }
+
+    /**
+     * Removes and returns the Extent test of a finished test, creating it if the test
+     * finished without a start event (e.g. skipped because a dependency failed).
+     *
+     * @param event The finishing event.
+     * @return the Extent test.
+     */
+    private ExtentTest test(ReportEvent event) {
+        ExtentTest extentTest = tests.remove(event.result());
+        return extentTest != null ? extentTest : extent.createTest(event.name());
+    }
+}
@@ -0,0 +1,14 @@
+package org.intigral.assignment.listeners;
+
+/**
+ * Outcome of one request sent by a load or lifecycle run, handed from the sending thread to the {@link ReportWriter}.
+ *
+ * @param source        The kind of run, e.g. {@code load} or {@code lifecycle}.
+ * @param operation     The operation or step the request belongs to.
+ * @param startMillis   When the request was due, in epoch milliseconds.
+ * @param latencyMicros Time from that start until the response was checked.
+ * @param success       Whether the request succeeded.
+ * @param error         The failure, possibly {@code null}.
+ */
+record RequestRecord(String source, String operation, long startMillis, long latencyMicros, boolean success, String error) {
+}
@@ -0,0 +1,162 @@
+package org.intigral.assignment.listeners;
+
+import org.intigral.assignment.shard.ShardPlan;
+import org.testng.ITestResult;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Streaming sink appending one compact JSON line per finished test, and one per request of a load or
+ * lifecycle run, to a results file. Data-provider parameters are written as {@link ShardPlan#describe},
+ * so the same row has the same text in every run.
+ * Nothing is kept in memory beyond the write buffer, so the file can grow with the run
+ * while the process footprint stays flat. Used by the {@link ReportWriter} thread only.
+ */
+class ResultSink implements AutoCloseable {
+
+    /**
+     * Buffered writer over the results file.
+     */
+    private final BufferedWriter out;
+
+    /**
+     * Reused to build each line.
+     */
+    private final StringBuilder line = new StringBuilder(256);
+
+    /**
+     * Creates the results file, replacing any file left by a previous run.
+     *
+     * @param path The results file path.
+     */
+    ResultSink(Path path) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            this.out = Files.newBufferedWriter(path, StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create results file: " + path, e);
+        }
+    }
+
+    /**
+     * Appends the outcome of a finished test.
+     *
+     * @param event The PASS, FAIL or SKIP event.
+     */
+    void write(ReportEvent event) {
+        ITestResult result = event.result();
+        line.setLength(0);
+        line.append("{\"type\":\"test\",\"name\":");
+        quote(event.name());
+        line.append(",\"class\":");
+        quote(result.getTestClass() != null ? result.getTestClass().getName() : null);
+        line.append(",\"status\":\"").append(event.type()).append('"');
+        line.append(",\"start\":").append(result.getStartMillis());
+        line.append(",\"durationMillis\":").append(Math.max(0, result.getEndMillis() - result.getStartMillis()));
+        Object[] parameters = result.getParameters();
+        if (parameters != null && parameters.length > 0) {
+            line.append(",\"parameters\":");
+            quote(ShardPlan.describe(parameters));
+        }
+        if (event.throwable() != null) {
+            line.append(",\"error\":");
+            quote(event.throwable().toString());
+        }
+        line.append("}\n");
+        append();
+    }
+
+    /**
+     * Appends the outcome of one request of a load or lifecycle run.
+     *
+     * @param request The request record.
+     */
+    void write(RequestRecord request) {
+        line.setLength(0);
+        line.append("{\"type\":\"request\",\"source\":");
+        quote(request.source());
+        line.append(",\"operation\":");
+        quote(request.operation());
+        line.append(",\"start\":").append(request.startMillis());
+        line.append(",\"latencyMicros\":").append(request.latencyMicros());
+        line.append(",\"success\":").append(request.success());
+        if (request.error() != null) {
+            line.append(",\"error\":");
+            quote(request.error());
+        }
+        line.append("}\n");
+        append();
+    }
+
+    /**
+     * Appends the built line to the file.
+     */
+    private void append() {
+        try {
+            out.append(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write results", e);
+        }
+    }
+
+    /**
+     * Pushes buffered lines to the file.
+     */
+    void flush() {
+        try {
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to flush results", e);
+        }
+    }
+
+    /**
+     * Flushes and closes the results file.
+     */
+    @Override
+    public void close() {
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to close results", e);
+        }
+    }
+
+    /**
+     * Appends a JSON string literal, or {@code null}.
+     *
+     * @param value The value to quote.
+     */
+    private void quote(String value) {
+        if (value == null) {
+            line.append("null");
+            return;
+        }
+        line.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> line.append("\\\"");
+                case '\\' -> line.append("\\\\");
+                case '\n' -> line.append("\\n");
+                case '\r' -> line.append("\\r");
+                case '\t' -> line.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        line.append(String.format("\\u%04x", (int) c));
+                    } else {
+                        line.append(c);
+                    }
+                }
+            }
+        }
+        line.append('"');
+    }
+}
@@ -0,0 +1,287 @@
+package org.intigral.assignment.listeners;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.HdrHistogram.Histogram;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+
+/**
+ * Post-run aggregation of a results file written by {@link ResultSink}.
+ * The file is read one line at a time and folded into fixed-size counters, a duration
+ * histogram and bounded lists of the slowest and failed tests, so summarizing a run of any
+ * length needs the same memory. Request records of load and lifecycle runs are folded into a
+ * latency histogram and failure count per operation.
+ */
+class ResultSummary {
+
+    /**
+     * Number of slowest tests kept.
+     */
+    private static final int SLOWEST = 10;
+
+    /**
+     * Number of failures kept.
+     */
+    private static final int FAILURES = 50;
+
+    /**
+     * Outcome counts per test class, in name order: pass, fail, skip, total milliseconds.
+     */
+    private final Map<String, long[]> classes = new TreeMap<>();
+
+    /**
+     * Test durations in milliseconds.
+     */
+    private final Histogram durations = new Histogram(3);
+
+    /**
+     * Slowest tests, smallest duration at the head.
+     */
+    private final PriorityQueue<JsonObject> slowest =
+            new PriorityQueue<>(Comparator.comparingLong(ResultSummary::duration));
+
+    /**
+     * First failed tests.
+     */
+    private final List<JsonObject> failures = new ArrayList<>();
+
+    /**
+     * Outcome counts over all tests: pass, fail, skip.
+     */
+    private final long[] totals = new long[3];
+
+    /**
+     * Request latencies in microseconds per source and operation, in name order.
+     */
+    private final Map<String, Histogram> requestLatencies = new TreeMap<>();
+
+    /**
+     * Failed requests per source and operation.
+     */
+    private final Map<String, Long> requestFailures = new TreeMap<>();
+
+    /**
+     * Reads and aggregates a results file.
+     *
+     * @param path The results file path.
+     * @return the summary.
+     */
+    static ResultSummary read(Path path) {
+        ResultSummary summary = new ResultSummary();
+        try (BufferedReader in = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (!line.isBlank()) {
+                    summary.add(JsonParser.parseString(line).getAsJsonObject());
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read results: " + path, e);
+        }
+        return summary;
+    }
+
+    /**
+     * Folds one result line into the summary.
+     *
+     * @param result The parsed line.
+     */
+    private void add(JsonObject result) {
+        String type = text(result, "type");
+        if (!type.isEmpty() && !type.equals("test")) {
+            addRequest(result);
+            return;
+        }
+        int status = switch (result.get("status").getAsString()) {
+            case "PASS" -> 0;
+            case "FAIL" -> 1;
+            default -> 2;
+        };
+        long duration = duration(result);
+        totals[status]++;
+        durations.recordValue(duration);
+
+        long[] counts = classes.computeIfAbsent(text(result, "class"), key -> new long[4]);
+        counts[status]++;
+        counts[3] += duration;
+
+        slowest.offer(result);
+        if (slowest.size() > SLOWEST) {
+            slowest.poll();
+        }
+        if (status == 1 && failures.size() < FAILURES) {
+            failures.add(result);
+        }
+    }
+
+    /**
+     * Folds one request line into the summary.
+     *
+     * @param request The parsed line.
+     */
+    private void addRequest(JsonObject request) {
+        String key = text(request, "source") + " " + text(request, "operation");
+        requestLatencies.computeIfAbsent(key, k -> new Histogram(3)).recordValue(request.get("latencyMicros").getAsLong());
+        if (!request.get("success").getAsBoolean()) {
+            requestFailures.merge(key, 1L, Long::sum);
+        }
+    }
+
+    /**
+     * Gets the total number of requests.
+     *
+     * @return the number of request lines read.
+     */
+    long requests() {
+        long requests = 0;
+        for (Histogram latencies : requestLatencies.values()) {
+            requests += latencies.getTotalCount();
+        }
+        return requests;
+    }
+
+    /**
+     * Builds the per-operation request table.
+     *
+     * @return the table rows, header first.
+     */
+    String[][] requestTable() {
+        String[][] rows = new String[requestLatencies.size() + 1][];
+        rows[0] = new String[]{"Requests", "Count", "Failed", "p50 ms", "p95 ms", "Max ms"};
+        int i = 1;
+        for (Map.Entry<String, Histogram> entry : requestLatencies.entrySet()) {
+            Histogram latencies = entry.getValue();
+            rows[i++] = new String[]{entry.getKey(), String.valueOf(latencies.getTotalCount()),
+                    String.valueOf(requestFailures.getOrDefault(entry.getKey(), 0L)),
+                    millis(latencies.getValueAtPercentile(50)), millis(latencies.getValueAtPercentile(95)),
+                    millis(latencies.getMaxValue())};
+        }
+        return rows;
+    }
+
+    /**
+     * Formats microseconds as milliseconds.
+     *
+     * @param micros The value in microseconds.
+     * @return the value in milliseconds with one decimal.
+     */
+    private static String millis(long micros) {
+        return String.format("%.1f", micros / 1000.0);
+    }
+
+    /**
+     * Gets the total number of tests.
+     *
+     * @return the number of result lines read.
+     */
+    long total() {
+        return totals[0] + totals[1] + totals[2];
+    }
+
+    /**
+     * Builds the overall outcome and duration table.
+     *
+     * @return the table rows, header first.
+     */
+    String[][] totalsTable() {
+        return new String[][]{
+                {"Tests", "Passed", "Failed", "Skipped", "p50 ms", "p95 ms", "Max ms"},
+                {String.valueOf(total()), String.valueOf(totals[0]), String.valueOf(totals[1]),
+                        String.valueOf(totals[2]),
+                        String.valueOf(durations.getValueAtPercentile(50)),
+                        String.valueOf(durations.getValueAtPercentile(95)),
+                        String.valueOf(durations.getMaxValue())}
+        };
+    }
+
+    /**
+     * Builds the per-class outcome table.
+     *
+     * @return the table rows, header first.
+     */
+    String[][] classTable() {
+        String[][] rows = new String[classes.size() + 1][];
+        rows[0] = new String[]{"Class", "Passed", "Failed", "Skipped", "Total ms"};
+        int i = 1;
+        for (Map.Entry<String, long[]> entry : classes.entrySet()) {
+            long[] counts = entry.getValue();
+            rows[i++] = new String[]{entry.getKey(), String.valueOf(counts[0]), String.valueOf(counts[1]),
+                    String.valueOf(counts[2]), String.valueOf(counts[3])};
+        }
+        return rows;
+    }
+
+    /**
+     * Builds the table of the slowest tests, slowest first.
+     *
+     * @return the table rows, header first.
+     */
+    String[][] slowestTable() {
+        List<JsonObject> sorted = new ArrayList<>(slowest);
+        sorted.sort(Comparator.comparingLong(ResultSummary::duration).reversed());
+        String[][] rows = new String[sorted.size() + 1][];
+        rows[0] = new String[]{"Test", "Parameters", "Status", "ms"};
+        for (int i = 0; i < sorted.size(); i++) {
+            JsonObject result = sorted.get(i);
+            rows[i + 1] = new String[]{text(result, "name"), text(result, "parameters"),
+                    text(result, "status"), String.valueOf(duration(result))};
+        }
+        return rows;
+    }
+
+    /**
+     * Lists the first failures, one per line.
+     *
+     * @return the failures, or an empty string if no test failed.
+     */
+    String failureList() {
+        StringBuilder text = new StringBuilder();
+        for (JsonObject failure : failures) {
+            text.append(text(failure, "class")).append('.').append(text(failure, "name"));
+            String parameters = text(failure, "parameters");
+            if (!parameters.isEmpty()) {
+                text.append(' ').append(parameters);
+            }
+            text.append(" -> ").append(text(failure, "error")).append('\n');
+        }
+        if (totals[1] > failures.size()) {
+            text.append("... ").append(totals[1] - failures.size()).append(" more\n");
+        }
+        return text.toString();
+    }
+
+    /**
+     * Gets the duration of a result line.
+     *
+     * @param result The parsed line.
+     * @return the duration in milliseconds.
+     */
+    private static long duration(JsonObject result) {
+        return result.get("durationMillis").getAsLong();
+    }
+
+    /**
+     * Gets a string field of a result line.
+     *
+     * @param result The parsed line.
+     * @param name   The field name.
+     * @return the value, or an empty string if absent.
+     */
+    private static String text(JsonObject result, String name) {
+        JsonElement value = result.get(name);
+        return value == null || value.isJsonNull() ? "" : value.getAsString();
+    }
+}
@@ -0,0 +1,299 @@
+package org.intigral.assignment.load;
+
+import org.intigral.assignment.client.ApiClient;
+import org.intigral.assignment.client.ApiClients;
+import org.intigral.assignment.client.ApiRequest;
+import org.intigral.assignment.client.ApiResponse;
+import org.intigral.assignment.listeners.ExtentReportListener;
+import org.intigral.assignment.models.Booking;
+import org.intigral.assignment.models.BookingCodec;
+import org.intigral.assignment.models.BookingDates;
+import org.intigral.assignment.models.BookingResponse;
+import org.intigral.assignment.utils.AuthTokenProvider;
+import org.intigral.assignment.utils.ConfigManager;
+
+import java.time.Duration;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs many independent booking lifecycles (create, get, update, delete) concurrently.
+ * Each lifecycle is a chain of {@link ApiClient#sendAsync} calls composed with
+ * {@link CompletableFuture#thenCompose}, whose steps assert on their response as soon as it arrives;
+ * a failed step stops only its own chain. No thread waits on a request in flight beyond what the
+ * client engine itself needs; the auth token is resolved once before the first chain, so no step
+ * waits on a token refresh on the thread that completed its request. A semaphore bounds the
+ * number of chains, and so of requests, in flight, and throttles submission so memory stays bounded.
+ * The run therefore takes about as long as the slowest chains rather than the sum of all of them.
+ * Every step is also streamed to the results file as its response is checked.
+ */
+public class LifecycleEngine {
+
+    /**
+     * Client bound to the target base URI, on the configured engine.
+     */
+    private final ApiClient client;
+
+    /**
+     * Booking endpoint path.
+     */
+    private final String bookingEndpoint;
+
+    /**
+     * Shared auth tokens for update and delete requests.
+     */
+    private final AuthTokenProvider tokens;
+
+    /**
+     * Maximum number of lifecycles in flight.
+     */
+    private final int maxInFlight;
+
+    /**
+     * Creates an engine targeting the given base URI.
+     *
+     * @param baseUri     The base URI of the booking API.
+     * @param maxInFlight Maximum number of lifecycles, and so of requests, in flight.
+     */
+    public LifecycleEngine(String baseUri, int maxInFlight) {
+        if (maxInFlight <= 0) {
+            throw new IllegalArgumentException("maxInFlight must be positive: " + maxInFlight);
+        }
+        this.client = ApiClients.forBaseUri(baseUri);
+        this.bookingEndpoint = ConfigManager.config().bookingEndpoint();
+        this.tokens = AuthTokenProvider.forBaseUri(baseUri);
+        this.maxInFlight = maxInFlight;
+    }
+
+    /**
+     * Runs the given number of lifecycles and waits for all of them.
+     *
+     * @param count The number of lifecycles.
+     * @return the outcome of the run.
+     */
+    public LifecycleReport run(int count) {
+        // Fail fast on bad credentials before any lifecycle starts
+        String token = tokens.token();
+        LifecycleReport report = new LifecycleReport();
+        Semaphore inFlight = new Semaphore(maxInFlight);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) {
+            inFlight.acquireUninterruptibly();
+            Booking booking = newBooking(i);
+            CompletableFuture.completedFuture(booking)
+                    .thenCompose(this::create)
+                    .thenCompose(id -> read(id, booking))
+                    .thenCompose(id -> update(id, booking, token))
+                    .thenCompose(id -> delete(id, token))
+                    .whenComplete((ignored, error) -> {
+                        if (error == null) {
+                            report.recordPass();
+                        } else {
+                            report.recordFailure(message(error));
+                        }
+                        inFlight.release();
+                    });
+        }
+        // Wait for the last chains
+        inFlight.acquireUninterruptibly(maxInFlight);
+        report.setElapsed(Duration.ofNanos(System.nanoTime() - start));
+        return report;
+    }
+
+    /**
+     * Creates a booking and checks the echoed payload.
+     *
+     * @param booking The booking to create.
+     * @return the future booking ID.
+     */
+    private CompletableFuture<Integer> create(Booking booking) {
+        long start = System.nanoTime();
+        return recorded("create", start, client.given()
+                .contentType(ApiRequest.JSON)
+                .body(BookingCodec.toBytes(booking))
+                .sendAsync("POST", bookingEndpoint)
+                .thenApply(response -> checkCreated(booking, response)));
+    }
+
+    /**
+     * Checks the response of a create.
+     *
+     * @param booking  The booking to create.
+     * @param response The response.
+     * @return the booking ID.
+     */
+    private static int checkCreated(Booking booking, ApiResponse response) {
+        expectStatus("create", response, 200);
+        BookingResponse created = response.booking();
+        int id = created.bookingId();
+        expect("create", id > 0 && created.booking() != null, "invalid booking ID " + id);
+        expectEquals("create", "booking.firstname", booking.getFirstname(), created.booking().getFirstname());
+        return id;
+    }
+
+    /**
+     * Reads a booking back and checks it matches what was created.
+     *
+     * @param id      The booking ID.
+     * @param booking The created booking.
+     * @return the future booking ID.
+     */
+    private CompletableFuture<Integer> read(int id, Booking booking) {
+        long start = System.nanoTime();
+        return recorded("get", start, client.given()
+                .sendAsync("GET", bookingEndpoint + "/" + id)
+                .thenApply(response -> checkRead(id, booking, response)));
+    }
+
+    /**
+     * Checks the response of a read.
+     *
+     * @param id       The booking ID.
+     * @param booking  The created booking.
+     * @param response The response.
+     * @return the booking ID.
+     */
+    private static int checkRead(int id, Booking booking, ApiResponse response) {
+        expectStatus("get " + id, response, 200);
+        Booking stored = response.booking().booking();
+        expect("get " + id, stored != null, "empty booking");
+        expectEquals("get " + id, "firstname", booking.getFirstname(), stored.getFirstname());
+        expectEquals("get " + id, "lastname", booking.getLastname(), stored.getLastname());
+        return id;
+    }
+
+    /**
+     * Replaces a booking's additional needs and checks the stored result.
+     *
+     * @param id      The booking ID.
+     * @param booking The created booking.
+     * @param token   The auth token.
+     * @return the future booking ID.
+     */
+    private CompletableFuture<Integer> update(int id, Booking booking, String token) {
+        Booking updated = newBooking(id);
+        updated.setFirstname(booking.getFirstname());
+        updated.setAdditionalneeds("updated-" + id);
+        long start = System.nanoTime();
+        return recorded("update", start, client.given()
+                .contentType(ApiRequest.JSON)
+                .cookie("token", token)
+                .body(BookingCodec.toBytes(updated))
+                .sendAsync("PUT", bookingEndpoint + "/" + id)
+                .thenApply(response -> checkUpdated(id, updated, response)));
+    }
+
+    /**
+     * Checks the response of an update.
+     *
+     * @param id       The booking ID.
+     * @param updated  The sent booking.
+     * @param response The response.
+     * @return the booking ID.
+     */
+    private static int checkUpdated(int id, Booking updated, ApiResponse response) {
+        expectStatus("update " + id, response, 200);
+        Booking stored = response.booking().booking();
+        expect("update " + id, stored != null, "empty booking");
+        expectEquals("update " + id, "additionalneeds", updated.getAdditionalneeds(), stored.getAdditionalneeds());
+        return id;
+    }
+
+    /**
+     * Deletes a booking.
+     *
+     * @param id    The booking ID.
+     * @param token The auth token.
+     * @return the future completion.
+     */
+    private CompletableFuture<Void> delete(int id, String token) {
+        long start = System.nanoTime();
+        return recorded("delete", start, client.given()
+                .cookie("token", token)
+                .sendAsync("DELETE", bookingEndpoint + "/" + id)
+                .thenAccept(response -> expectStatus("delete " + id, response, 201)));
+    }
+
+    /**
+     * Streams the outcome of a step to the results file once it is checked.
+     *
+     * @param step  The step name.
+     * @param start When the step's request was sent, in {@link System#nanoTime()} units.
+     * @param check The step's checked response.
+     * @param <T>   The step's result type.
+     * @return the same future.
+     */
+    private static <T> CompletableFuture<T> recorded(String step, long start, CompletableFuture<T> check) {
+        return check.whenComplete((ignored, error) -> ExtentReportListener.recordRequest("lifecycle", step,
+                System.nanoTime() - start, error == null, error == null ? null : message(error)));
+    }
+
+    /**
+     * Fails the step if the response status is not the expected one.
+     *
+     * @param step     The step description.
+     * @param response The response.
+     * @param expected The expected status.
+     */
+    private static void expectStatus(String step, ApiResponse response, int expected) {
+        expect(step, response.statusCode() == expected,
+                "expected status " + expected + " but was " + response.statusCode());
+    }
+
+    /**
+     * Fails the step if a response field does not have the expected value.
+     *
+     * @param step     The step description.
+     * @param field    The field path.
+     * @param expected The expected value.
+     * @param actual   The actual value.
+     */
+    private static void expectEquals(String step, String field, Object expected, Object actual) {
+        expect(step, Objects.equals(expected, actual), field + " expected [" + expected + "] but was [" + actual + "]");
+    }
+
+    /**
+     * Fails the step if a condition does not hold.
+     *
+     * @param step      The step description.
+     * @param condition The condition.
+     * @param message   The failure message.
+     * @throws AssertionError if the condition does not hold.
+     */
+    private static void expect(String step, boolean condition, String message) {
+        if (!condition) {
+            throw new AssertionError(step + ": " + message);
+        }
+    }
+
+    /**
+     * Unwraps the failure of a chain into a message.
+     *
+     * @param error The failure, possibly wrapped by the future.
+     * @return the message.
+     */
+    private static String message(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        return cause instanceof AssertionError ? cause.getMessage() : cause.toString();
+    }
+
+    /**
+     * Builds a valid booking payload unique to a lifecycle.
+     *
+     * @param index The lifecycle index.
+     * @return a new booking.
+     */
+    private static Booking newBooking(int index) {
+        Booking booking = new Booking();
+        booking.setFirstname("lifecycle-" + index);
+        booking.setLastname("engine");
+        booking.setTotalprice(100 + index % 900);
+        booking.setDepositpaid(index % 2 == 0);
+        booking.setBookingdates(new BookingDates("2024-01-01", "2024-01-05"));
+        booking.setAdditionalneeds("none");
+        return booking;
+    }
+}
@@ -0,0 +1,121 @@
+package org.intigral.assignment.load;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Outcome of a {@link LifecycleEngine} run: how many booking lifecycles passed or failed,
+ * the first failure messages and the wall time of the run.
+ */
+public class LifecycleReport {
+
+    /**
+     * Number of failure messages kept.
+     */
+    private static final int MAX_FAILURES = 50;
+
+    /**
+     * Lifecycles whose every step passed.
+     */
+    private final LongAdder passed = new LongAdder();
+
+    /**
+     * Lifecycles stopped by a failed step.
+     */
+    private final LongAdder failed = new LongAdder();
+
+    /**
+     * First failure messages, at most {@link #MAX_FAILURES}.
+     */
+    private final Queue<String> failures = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Number of failure messages kept so far.
+     */
+    private final AtomicInteger keptFailures = new AtomicInteger();
+
+    /**
+     * Wall time of the run, set when it completes.
+     */
+    private volatile Duration elapsed = Duration.ZERO;
+
+    /**
+     * Records a lifecycle whose every step passed.
+     */
+    void recordPass() {
+        passed.increment();
+    }
+
+    /**
+     * Records a lifecycle stopped by a failed step.
+     *
+     * @param message Description of the failed step.
+     */
+    void recordFailure(String message) {
+        failed.increment();
+        if (keptFailures.getAndIncrement() < MAX_FAILURES) {
+            failures.add(message);
+        }
+    }
+
+    /**
+     * Sets the wall time of the run.
+     *
+     * @param elapsed The elapsed time.
+     */
+    void setElapsed(Duration elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * Gets the number of passed lifecycles.
+     *
+     * @return the count.
+     */
+    public long getPassed() {
+        return passed.sum();
+    }
+
+    /**
+     * Gets the number of failed lifecycles.
+     *
+     * @return the count.
+     */
+    public long getFailed() {
+        return failed.sum();
+    }
+
+    /**
+     * Gets the first failure messages.
+     *
+     * @return up to 50 messages, in completion order.
+     */
+    public List<String> getFailures() {
+        return List.copyOf(failures);
+    }
+
+    /**
+     * Gets the wall time of the run.
+     *
+     * @return the elapsed time.
+     */
+    public Duration getElapsed() {
+        return elapsed;
+    }
+
+    /**
+     * Formats the report as a one-line summary followed by the kept failures.
+     *
+     * @return the formatted report.
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder(String.format("Lifecycles: %d passed, %d failed in %.1fs%n",
+                getPassed(), getFailed(), elapsed.toMillis() / 1000.0));
+        failures.forEach(failure -> out.append("  ").append(failure).append(System.lineSeparator()));
+        return out.toString();
+    }
+}
@@ -0,0 +1,239 @@
+package org.intigral.assignment.load;
+
+import org.intigral.assignment.client.ApiClient;
+import org.intigral.assignment.client.ApiClients;
+import org.intigral.assignment.client.ApiRequest;
+import org.intigral.assignment.listeners.ExtentReportListener;
+import org.intigral.assignment.models.Booking;
+import org.intigral.assignment.models.BookingCodec;
+import org.intigral.assignment.models.BookingDates;
+import org.intigral.assignment.utils.AuthTokenProvider;
+import org.intigral.assignment.utils.ConfigManager;
+
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load generator for the booking API.
+ * Arrivals are scheduled at a constant rate independent of response times, and each one is sent
+ * with the client engine's asynchronous API, so the scheduling thread never waits for a response.
+ * Latency is measured from the arrival's intended start time, which corrects for coordinated
+ * omission when the server, the engine's threads or the generator fall behind. An arrival that
+ * fails for any reason, including checked exceptions rethrown by RestAssured, is recorded as an error.
+ * Every arrival is also streamed to the results file, so a long run's outcome is not only held in memory.
+ */
+public class LoadGenerator {
+
+    /**
+     * Booking payloads serialized once up front and sent as raw bytes, so arrivals do no serialization.
+     */
+    private static final byte[][] PAYLOADS = payloads();
+
+    /**
+     * Client bound to the target base URI, on the configured engine.
+     */
+    private final ApiClient client;
+
+    /**
+     * Booking endpoint path.
+     */
+    private final String bookingEndpoint;
+
+    /**
+     * Shared auth tokens for update and delete requests.
+     */
+    private final AuthTokenProvider tokens;
+
+    /**
+     * IDs of bookings created during the run and not yet deleted.
+     */
+    private final Queue<Integer> liveBookings = new ConcurrentLinkedQueue<>();
+
+    /**
+     * Creates a generator targeting the given base URI.
+     *
+     * @param baseUri The base URI of the booking API.
+     */
+    public LoadGenerator(String baseUri) {
+        this.client = ApiClients.forBaseUri(baseUri);
+        this.bookingEndpoint = ConfigManager.config().bookingEndpoint();
+        this.tokens = AuthTokenProvider.forBaseUri(baseUri);
+    }
+
+    /**
+     * Runs the profile to completion and waits for all outstanding requests.
+     *
+     * @param profile The load profile.
+     * @return the latency and throughput report.
+     */
+    public LoadReport run(LoadProfile profile) {
+        // Fetch the token before the clock starts so its round trip is not counted as load
+        tokens.token();
+        LoadReport report = new LoadReport();
+        long intervalNanos = 1_000_000_000L / profile.getRatePerSecond();
+        int totalWeight = profile.totalWeight();
+
+        Semaphore completed = new Semaphore(0);
+        long start = System.nanoTime();
+        long end = start + profile.getDuration().toNanos();
+        int arrivals = 0;
+        for (; ; arrivals++) {
+            long intendedStart = start + arrivals * intervalNanos;
+            if (intendedStart >= end) {
+                break;
+            }
+            long wait = intendedStart - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            LoadOperation operation = profile.pick(ThreadLocalRandom.current().nextInt(totalWeight));
+            execute(operation, intendedStart, report).whenComplete((ignored, error) -> completed.release());
+        }
+        completed.acquireUninterruptibly(arrivals);
+        report.setElapsed(Duration.ofNanos(System.nanoTime() - start));
+        return report;
+    }
+
+    /**
+     * Sends one arrival and records its corrected latency when it completes.
+     * Operations that need an existing booking fall back to creating one when none is available,
+     * and the fallback is counted against the operation that was picked.
+     *
+     * @param operation     The operation picked for the arrival.
+     * @param intendedStart The scheduled start time in {@link System#nanoTime()} units.
+     * @param report        The report to record into.
+     * @return a future completing once the arrival is recorded; it never completes exceptionally.
+     */
+    private CompletableFuture<Void> execute(LoadOperation operation, long intendedStart, LoadReport report) {
+        Integer id = operation == LoadOperation.CREATE ? null : liveBookings.poll();
+        if (id == null && operation != LoadOperation.CREATE) {
+            report.recordFallback(operation);
+            operation = LoadOperation.CREATE;
+        }
+        LoadOperation issued = operation;
+        CompletableFuture<Boolean> call;
+        try {
+            call = switch (issued) {
+                case CREATE -> create();
+                case GET -> read(id);
+                case UPDATE -> update(id);
+                case DELETE -> delete(id);
+            };
+        } catch (Exception e) {
+            call = CompletableFuture.failedFuture(e);
+        }
+        return call.handle((success, error) -> {
+            long latency = System.nanoTime() - intendedStart;
+            boolean passed = error == null && success;
+            report.record(issued, latency, passed);
+            ExtentReportListener.recordRequest("load", issued.name(), latency, passed,
+                    passed ? null : error == null ? "unexpected status" : cause(error).toString());
+            return null;
+        });
+    }
+
+    /**
+     * Unwraps the failure of an arrival.
+     *
+     * @param error The failure, possibly wrapped by the future.
+     * @return the cause.
+     */
+    private static Throwable cause(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    /**
+     * Creates a booking and adds it to the live set.
+     *
+     * @return a future of {@code true} if the booking was created.
+     */
+    private CompletableFuture<Boolean> create() {
+        return client.given()
+                .contentType(ApiRequest.JSON)
+                .body(newPayload())
+                .sendAsync("POST", bookingEndpoint)
+                .thenApply(response -> {
+                    if (response.statusCode() != 200) {
+                        return false;
+                    }
+                    liveBookings.add(response.booking().bookingId());
+                    return true;
+                });
+    }
+
+    /**
+     * Reads a booking and returns it to the live set.
+     *
+     * @param id The booking ID.
+     * @return a future of {@code true} if the booking was returned.
+     */
+    private CompletableFuture<Boolean> read(int id) {
+        return client.given()
+                .sendAsync("GET", bookingEndpoint + "/" + id)
+                .whenComplete((response, error) -> liveBookings.add(id))
+                .thenApply(response -> response.statusCode() == 200);
+    }
+
+    /**
+     * Replaces a booking and returns it to the live set.
+     *
+     * @param id The booking ID.
+     * @return a future of {@code true} if the booking was updated.
+     */
+    private CompletableFuture<Boolean> update(int id) {
+        return client.given()
+                .contentType(ApiRequest.JSON)
+                .cookie("token", tokens.token())
+                .body(newPayload())
+                .sendAsync("PUT", bookingEndpoint + "/" + id)
+                .whenComplete((response, error) -> liveBookings.add(id))
+                .thenApply(response -> response.statusCode() == 200);
+    }
+
+    /**
+     * Deletes a booking.
+     *
+     * @param id The booking ID.
+     * @return a future of {@code true} if the booking was deleted.
+     */
+    private CompletableFuture<Boolean> delete(int id) {
+        return client.given()
+                .cookie("token", tokens.token())
+                .sendAsync("DELETE", bookingEndpoint + "/" + id)
+                .thenApply(response -> response.statusCode() == 201);
+    }
+
+    /**
+     * Picks one of the pre-serialized booking payloads at random.
+     *
+     * @return the JSON bytes, shared and not to be modified.
+     */
+    private static byte[] newPayload() {
+        return PAYLOADS[ThreadLocalRandom.current().nextInt(PAYLOADS.length)];
+    }
+
+    /**
+     * Serializes one valid booking payload per price from 1 to 999.
+     *
+     * @return the JSON bytes by price.
+     */
+    private static byte[][] payloads() {
+        Booking.Builder builder = Booking.builder()
+                .firstname("load")
+                .lastname("generator")
+                .depositpaid(true)
+                .bookingdates(new BookingDates("2024-01-01", "2024-01-05"))
+                .additionalneeds("none");
+        byte[][] payloads = new byte[999][];
+        for (int i = 0; i < payloads.length; i++) {
+            payloads[i] = builder.totalprice(i + 1).toBytes();
+        }
+        return payloads;
+    }
+}
@@ -0,0 +1,27 @@
+package org.intigral.assignment.load;
+
+/**
+ * Booking operations the load generator can issue against the {@code /booking} endpoint.
+ */
+public enum LoadOperation {
+
+    /**
+     * {@code POST /booking}.
+     */
+    CREATE,
+
+    /**
+     * {@code GET /booking/{id}}.
+     */
+    GET,
+
+    /**
+     * {@code PUT /booking/{id}}.
+     */
+    UPDATE,
+
+    /**
+     * {@code DELETE /booking/{id}}.
+     */
+    DELETE
+}
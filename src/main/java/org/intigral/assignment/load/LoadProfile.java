@@ -0,0 +1,142 @@
+package org.intigral.assignment.load;
+
+import org.intigral.assignment.utils.ConfigManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Describes an open-model load run: a constant arrival rate held for a fixed duration,
+ * with each arrival picking an operation according to a weighted mix.
+ */
+public class LoadProfile {
+
+    /**
+     * Target arrivals per second.
+     */
+    private final int ratePerSecond;
+
+    /**
+     * How long arrivals are generated for.
+     */
+    private final Duration duration;
+
+    /**
+     * Relative weight of each operation in the mix.
+     */
+    private final Map<LoadOperation, Integer> mix;
+
+    /**
+     * Creates a load profile.
+     *
+     * @param ratePerSecond Target arrivals per second.
+     * @param duration      How long arrivals are generated for.
+     * @param mix           Relative weight of each operation, at least 0; operations with no entry are not issued.
+     */
+    public LoadProfile(int ratePerSecond, Duration duration, Map<LoadOperation, Integer> mix) {
+        if (ratePerSecond <= 0) {
+            throw new IllegalArgumentException("Rate must be positive: " + ratePerSecond);
+        }
+        mix.forEach((operation, weight) -> {
+            if (weight < 0) {
+                throw new IllegalArgumentException("Operation weight must not be negative: " + operation + "=" + weight);
+            }
+        });
+        if (mix.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Operation mix must have a positive total weight: " + mix);
+        }
+        this.ratePerSecond = ratePerSecond;
+        this.duration = duration;
+        this.mix = new EnumMap<>(mix);
+    }
+
+    /**
+     * Builds a profile from the {@code loadRatePerSecond}, {@code loadDurationSeconds}
+     * and {@code loadMix} configuration keys.
+     *
+     * @return the configured load profile.
+     */
+    public static LoadProfile fromConfig() {
+        return new LoadProfile(
+                ConfigManager.getInt("loadRatePerSecond"),
+                Duration.ofSeconds(ConfigManager.getLong("loadDurationSeconds")),
+                parseMix(ConfigManager.get("loadMix")));
+    }
+
+    /**
+     * Parses a mix such as {@code create:1,get:2,update:1,delete:1}.
+     *
+     * @param mix The mix specification.
+     * @return the weight of each listed operation.
+     * @throws IllegalArgumentException if an entry is malformed.
+     */
+    public static Map<LoadOperation, Integer> parseMix(String mix) {
+        Map<LoadOperation, Integer> weights = new EnumMap<>(LoadOperation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Invalid load mix entry: " + entry);
+            }
+            weights.put(LoadOperation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    /**
+     * Gets the target arrivals per second.
+     *
+     * @return the arrival rate.
+     */
+    public int getRatePerSecond() {
+        return ratePerSecond;
+    }
+
+    /**
+     * Gets how long arrivals are generated for.
+     *
+     * @return the run duration.
+     */
+    public Duration getDuration() {
+        return duration;
+    }
+
+    /**
+     * Picks the operation for an arrival from the weighted mix.
+     *
+     * @param roll A uniformly distributed value in {@code [0, totalWeight)}.
+     * @return the selected operation.
+     */
+    LoadOperation pick(int roll) {
+        for (Map.Entry<LoadOperation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("Roll outside the mix weight range");
+    }
+
+    /**
+     * Gets the sum of all operation weights.
+     *
+     * @return the total weight.
+     */
+    int totalWeight() {
+        return mix.values().stream().mapToInt(Integer::intValue).sum();
+    }
+
+    /**
+     * Provides a string representation of the LoadProfile instance.
+     *
+     * @return a string describing rate, duration and mix.
+     */
+    @Override
+    public String toString() {
+        return "LoadProfile{" +
+                "ratePerSecond=" + ratePerSecond +
+                ", duration=" + duration +
+                ", mix=" + mix +
+                '}';
+    }
+}
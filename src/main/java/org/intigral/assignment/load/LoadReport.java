@@ -0,0 +1,172 @@
+package org.intigral.assignment.load;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and throughput results of a load run, kept per operation.
+ * Latencies are measured from each arrival's intended start time, so delays caused by a
+ * slow server or a lagging generator are included rather than silently omitted.
+ */
+public class LoadReport {
+
+    /**
+     * Highest latency the histograms track, in nanoseconds.
+     */
+    private static final long MAX_TRACKED_NANOS = Duration.ofMinutes(5).toNanos();
+
+    /**
+     * Corrected latency (from intended start) per operation.
+     */
+    private final Map<LoadOperation, Histogram> latencies = new EnumMap<>(LoadOperation.class);
+
+    /**
+     * Failed requests per operation.
+     */
+    private final Map<LoadOperation, LongAdder> errors = new EnumMap<>(LoadOperation.class);
+
+    /**
+     * Arrivals per operation that found no live booking and created one instead.
+     */
+    private final Map<LoadOperation, LongAdder> fallbacks = new EnumMap<>(LoadOperation.class);
+
+    /**
+     * Wall time of the run, set when it completes.
+     */
+    private volatile Duration elapsed = Duration.ZERO;
+
+    /**
+     * Creates an empty report with a histogram for every operation.
+     */
+    public LoadReport() {
+        for (LoadOperation operation : LoadOperation.values()) {
+            latencies.put(operation, new ConcurrentHistogram(MAX_TRACKED_NANOS, 3));
+            errors.put(operation, new LongAdder());
+            fallbacks.put(operation, new LongAdder());
+        }
+    }
+
+    /**
+     * Records a completed request.
+     *
+     * @param operation    The operation issued.
+     * @param latencyNanos Nanoseconds from the intended start to completion.
+     * @param success      {@code true} if the request returned the expected status.
+     */
+    void record(LoadOperation operation, long latencyNanos, boolean success) {
+        latencies.get(operation).recordValue(Math.min(latencyNanos, MAX_TRACKED_NANOS));
+        if (!success) {
+            errors.get(operation).increment();
+        }
+    }
+
+    /**
+     * Records an arrival that was picked for an operation but issued as a create, because no
+     * booking was live.
+     *
+     * @param operation The operation picked for the arrival.
+     */
+    void recordFallback(LoadOperation operation) {
+        fallbacks.get(operation).increment();
+    }
+
+    /**
+     * Sets the wall time of the run.
+     *
+     * @param elapsed The run duration.
+     */
+    void setElapsed(Duration elapsed) {
+        this.elapsed = elapsed;
+    }
+
+    /**
+     * Gets the number of requests issued for an operation.
+     *
+     * @param operation The operation.
+     * @return the request count.
+     */
+    public long getCount(LoadOperation operation) {
+        return latencies.get(operation).getTotalCount();
+    }
+
+    /**
+     * Gets the number of failed requests for an operation.
+     *
+     * @param operation The operation.
+     * @return the error count.
+     */
+    public long getErrors(LoadOperation operation) {
+        return errors.get(operation).sum();
+    }
+
+    /**
+     * Gets the number of arrivals picked for an operation that were issued as a create instead.
+     * These are included in the {@link LoadOperation#CREATE} count.
+     *
+     * @param operation The operation.
+     * @return the fallback count.
+     */
+    public long getFallbacks(LoadOperation operation) {
+        return fallbacks.get(operation).sum();
+    }
+
+    /**
+     * Gets the number of failed requests across all operations.
+     *
+     * @return the total error count.
+     */
+    public long getTotalErrors() {
+        return errors.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    /**
+     * Gets the corrected latency at a percentile for an operation.
+     *
+     * @param operation  The operation.
+     * @param percentile The percentile, e.g. {@code 99.9}.
+     * @return the latency in milliseconds.
+     */
+    public double getLatencyMillis(LoadOperation operation, double percentile) {
+        return latencies.get(operation).getValueAtPercentile(percentile) / 1_000_000.0;
+    }
+
+    /**
+     * Gets the achieved throughput for an operation.
+     *
+     * @param operation The operation.
+     * @return completed requests per second of wall time.
+     */
+    public double getThroughput(LoadOperation operation) {
+        double seconds = elapsed.toNanos() / 1_000_000_000.0;
+        return seconds == 0 ? 0 : getCount(operation) / seconds;
+    }
+
+    /**
+     * Formats the report as a table with count, errors, fallbacks to create, throughput and
+     * p50/p99/p99.9 per operation.
+     *
+     * @return the formatted report.
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder();
+        out.append(String.format("%-8s %10s %8s %9s %10s %10s %10s %10s%n",
+                "op", "count", "errors", "fallback", "req/s", "p50 ms", "p99 ms", "p99.9 ms"));
+        for (LoadOperation operation : LoadOperation.values()) {
+            if (getCount(operation) == 0 && getFallbacks(operation) == 0) {
+                continue;
+            }
+            out.append(String.format("%-8s %10d %8d %9d %10.1f %10.2f %10.2f %10.2f%n",
+                    operation, getCount(operation), getErrors(operation), getFallbacks(operation),
+                    getThroughput(operation),
+                    getLatencyMillis(operation, 50), getLatencyMillis(operation, 99),
+                    getLatencyMillis(operation, 99.9)));
+        }
+        out.append("elapsed: ").append(elapsed.toMillis()).append(" ms");
+        return out.toString();
+    }
+}
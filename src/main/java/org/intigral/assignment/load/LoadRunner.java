@@ -0,0 +1,29 @@
+package org.intigral.assignment.load;
+
+import org.intigral.assignment.server.BookingStubServer;
+import org.intigral.assignment.utils.ConfigManager;
+
+/**
+ * Command-line entry point for a load run using the configured {@link LoadProfile}.
+ * Targets the in-process stub server when {@code stubServerEnabled} is set, otherwise {@code baseUrl}.
+ */
+public class LoadRunner {
+
+    /**
+     * Runs the configured load profile and prints the report.
+     *
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        boolean useStub = ConfigManager.config().stubServerEnabled();
+        String baseUri = useStub ? BookingStubServer.shared().baseUri() : ConfigManager.config().baseUrl();
+        try {
+            LoadProfile profile = LoadProfile.fromConfig();
+            System.out.println("Running " + profile + " against " + baseUri);
+            LoadReport report = new LoadGenerator(baseUri).run(profile);
+            System.out.println(report.format());
+        } finally {
+            BookingStubServer.stopShared();
+        }
+    }
+}
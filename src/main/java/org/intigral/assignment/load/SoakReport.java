@@ -0,0 +1,143 @@
+package org.intigral.assignment.load;
+
+import org.HdrHistogram.Histogram;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Outcome of a soak run: one entry per suite iteration with its heap footprint and per-endpoint
+ * p95 latency, summarized as heap growth and latency drift between the first and last iterations.
+ */
+public class SoakReport {
+
+    /**
+     * One suite iteration.
+     *
+     * @param number        The iteration number, from 1.
+     * @param startedAt     Time since the run started when the iteration started.
+     * @param elapsed       Duration of the iteration.
+     * @param passed        Whether every test passed.
+     * @param heapBytes     Heap in use after the last collection following the iteration.
+     * @param p95Micros     p95 latency in microseconds per endpoint during the iteration.
+     */
+    record Iteration(int number, Duration startedAt, Duration elapsed, boolean passed, long heapBytes,
+                     Map<String, Long> p95Micros) {
+    }
+
+    /**
+     * Iterations in order.
+     */
+    private final List<Iteration> iterations = new ArrayList<>();
+
+    /**
+     * Records an iteration.
+     *
+     * @param startedAt  Time since the run started when the iteration started.
+     * @param elapsed    Duration of the iteration.
+     * @param passed     Whether every test passed.
+     * @param heapBytes  Heap in use after the last collection following the iteration.
+     * @param latencies  Latencies in microseconds per endpoint recorded during the iteration.
+     */
+    public void record(Duration startedAt, Duration elapsed, boolean passed, long heapBytes,
+                       Map<String, Histogram> latencies) {
+        Map<String, Long> p95 = new TreeMap<>();
+        latencies.forEach((endpoint, histogram) -> {
+            if (histogram.getTotalCount() > 0) {
+                p95.put(endpoint, histogram.getValueAtPercentile(95));
+            }
+        });
+        iterations.add(new Iteration(iterations.size() + 1, startedAt, elapsed, passed, heapBytes, p95));
+    }
+
+    /**
+     * Gets the number of iterations.
+     *
+     * @return the count.
+     */
+    public int getIterations() {
+        return iterations.size();
+    }
+
+    /**
+     * Gets the number of iterations with failed tests.
+     *
+     * @return the count.
+     */
+    public long getFailedIterations() {
+        return iterations.stream().filter(iteration -> !iteration.passed()).count();
+    }
+
+    /**
+     * Estimates heap growth as the least-squares slope of post-GC heap over time.
+     *
+     * @return the growth in bytes per hour, {@code 0} with fewer than two iterations.
+     */
+    public double heapGrowthPerHour() {
+        int n = iterations.size();
+        if (n < 2) {
+            return 0;
+        }
+        double meanX = 0;
+        double meanY = 0;
+        for (Iteration iteration : iterations) {
+            meanX += iteration.startedAt().toMillis() / (double) n;
+            meanY += iteration.heapBytes() / (double) n;
+        }
+        double covariance = 0;
+        double variance = 0;
+        for (Iteration iteration : iterations) {
+            double dx = iteration.startedAt().toMillis() - meanX;
+            covariance += dx * (iteration.heapBytes() - meanY);
+            variance += dx * dx;
+        }
+        return variance == 0 ? 0 : covariance / variance * TimeUnit.HOURS.toMillis(1);
+    }
+
+    /**
+     * Formats the iterations and the drift summary.
+     *
+     * @return the formatted report.
+     */
+    public String format() {
+        StringBuilder out = new StringBuilder(String.format("Soak: %d iterations, %d with failures%n",
+                iterations.size(), getFailedIterations()));
+        for (Iteration iteration : iterations) {
+            out.append(String.format("  #%-4d at %6ds  %6.1fs  %-4s  heap %7.1f MB%n", iteration.number(),
+                    iteration.startedAt().toSeconds(), iteration.elapsed().toMillis() / 1000.0,
+                    iteration.passed() ? "PASS" : "FAIL", megabytes(iteration.heapBytes())));
+        }
+        if (iterations.isEmpty()) {
+            return out.toString();
+        }
+        Iteration first = iterations.get(0);
+        Iteration last = iterations.get(iterations.size() - 1);
+        long maxHeap = iterations.stream().mapToLong(Iteration::heapBytes).max().orElse(0);
+        out.append(String.format("Heap after GC: first %.1f MB, last %.1f MB, max %.1f MB, trend %+.1f MB/h%n",
+                megabytes(first.heapBytes()), megabytes(last.heapBytes()), megabytes(maxHeap),
+                megabytes((long) heapGrowthPerHour())));
+        out.append("p95 drift (first -> last iteration):").append(System.lineSeparator());
+        first.p95Micros().forEach((endpoint, before) -> {
+            Long after = last.p95Micros().get(endpoint);
+            if (after != null) {
+                out.append(String.format("  %-24s %8.1f ms -> %8.1f ms  %+6.1f%%%n", endpoint, before / 1000.0,
+                        after / 1000.0, before == 0 ? 0.0 : (after - before) * 100.0 / before));
+            }
+        });
+        return out.toString();
+    }
+
+    /**
+     * Converts bytes to megabytes.
+     *
+     * @param bytes The byte count.
+     * @return the megabytes.
+     */
+    private static double megabytes(long bytes) {
+        return bytes / (1024.0 * 1024.0);
+    }
+}
@@ -0,0 +1,159 @@
+package org.intigral.assignment.load;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.HdrHistogram.Histogram;
+import org.intigral.assignment.filters.LatencyFilter;
+import org.intigral.assignment.jfr.ApiCallEvent;
+import org.intigral.assignment.jfr.TestExecutionEvent;
+import org.intigral.assignment.utils.ConfigManager;
+import org.testng.TestNG;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Command-line entry point for a soak run: executes the {@code soakSuite} TestNG suite over and
+ * over for {@code soakDurationSeconds}, under a rolling Flight Recorder recording that keeps the
+ * last {@code soakRecordingMaxAgeSeconds} or {@code soakRecordingMaxSizeMb}, whichever is smaller.
+ * The recording, including the {@link ApiCallEvent} and {@link TestExecutionEvent} events, is
+ * dumped to {@code soakRecordingPath} at the end, and a {@link SoakReport} of heap growth and
+ * latency drift is printed. Needs the test classes on the classpath.
+ */
+public class SoakRunner {
+
+    /**
+     * Runs the soak and prints the report. Exits with status 1 if any iteration had failures.
+     *
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        Duration duration = Duration.ofSeconds(ConfigManager.getLong("soakDurationSeconds"));
+        String suite = ConfigManager.get("soakSuite");
+        Path recordingPath = Path.of(ConfigManager.get("soakRecordingPath"));
+        System.out.println("Soaking " + suite + " for " + duration.toSeconds() + "s, recording to " + recordingPath);
+
+        SoakReport report = new SoakReport();
+        try (Recording recording = startRecording()) {
+            long runStart = System.nanoTime();
+            long end = runStart + duration.toNanos();
+            Map<String, Histogram> previous = LatencyFilter.suiteHistograms();
+            do {
+                long start = System.nanoTime();
+                boolean passed = runSuite(suite);
+                Map<String, Histogram> current = LatencyFilter.suiteHistograms();
+                report.record(Duration.ofNanos(start - runStart), Duration.ofNanos(System.nanoTime() - start),
+                        passed, heapAfterGc(), delta(current, previous));
+                previous = current;
+            } while (System.nanoTime() < end);
+            dump(recording, recordingPath);
+        }
+        System.out.print(report.format());
+        System.exit(report.getFailedIterations() > 0 ? 1 : 0);
+    }
+
+    /**
+     * Starts a rolling, on-disk recording with the default JFR settings and the custom events.
+     *
+     * @return the running recording.
+     */
+    private static Recording startRecording() {
+        Recording recording;
+        try {
+            recording = new Recording(Configuration.getConfiguration("default"));
+        } catch (IOException | ParseException e) {
+            throw new IllegalStateException("Failed to load the default JFR configuration", e);
+        }
+        recording.setName("soak");
+        recording.setToDisk(true);
+        recording.setMaxAge(Duration.ofSeconds(ConfigManager.getLong("soakRecordingMaxAgeSeconds")));
+        recording.setMaxSize(ConfigManager.getLong("soakRecordingMaxSizeMb") * 1024 * 1024);
+        recording.enable(ApiCallEvent.class);
+        recording.enable(TestExecutionEvent.class);
+        recording.start();
+        return recording;
+    }
+
+    /**
+     * Runs one iteration of the suite.
+     *
+     * @param suite The suite file.
+     * @return {@code true} if no test failed.
+     */
+    private static boolean runSuite(String suite) {
+        TestNG testng = new TestNG();
+        testng.setTestSuites(List.of(suite));
+        testng.setUseDefaultListeners(false);
+        testng.setOutputDirectory("target/soak-testng");
+        testng.run();
+        return !testng.hasFailure();
+    }
+
+    /**
+     * Gets the heap in use after the most recent collection of each heap pool, or the current
+     * heap use if no collection has happened yet.
+     *
+     * @return the heap in bytes.
+     */
+    private static long heapAfterGc() {
+        long afterGc = 0;
+        long current = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() != MemoryType.HEAP) {
+                continue;
+            }
+            MemoryUsage collected = pool.getCollectionUsage();
+            afterGc += collected != null ? collected.getUsed() : 0;
+            current += pool.getUsage().getUsed();
+        }
+        return afterGc > 0 ? afterGc : current;
+    }
+
+    /**
+     * Subtracts the previous latency snapshot from the current one.
+     *
+     * @param current  The cumulative latencies now.
+     * @param previous The cumulative latencies before the iteration.
+     * @return the latencies recorded during the iteration.
+     */
+    private static Map<String, Histogram> delta(Map<String, Histogram> current, Map<String, Histogram> previous) {
+        Map<String, Histogram> delta = new TreeMap<>();
+        current.forEach((endpoint, histogram) -> {
+            Histogram iteration = histogram.copy();
+            Histogram before = previous.get(endpoint);
+            if (before != null) {
+                iteration.subtract(before);
+            }
+            delta.put(endpoint, iteration);
+        });
+        return delta;
+    }
+
+    /**
+     * Writes the retained part of the recording to a file.
+     *
+     * @param recording The recording.
+     * @param path      The target file.
+     */
+    private static void dump(Recording recording, Path path) {
+        try {
+            if (path.getParent() != null) {
+                Files.createDirectories(path.getParent());
+            }
+            recording.dump(path);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write JFR recording: " + path, e);
+        }
+    }
+}
@@ -36,6 +36,15 @@ public class Booking {
      */
     private String additionalneeds;
 
+    /**
+     * Starts building a booking.
+     *
+     * @return a new builder.
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
     /**
      * Gets the additional needs of the customer.
      *
@@ -143,4 +152,129 @@ public class Booking {
     public void setFirstname(String firstname) {
         this.firstname = firstname;
     }
+
+    /**
+     * Provides a string representation of the Booking instance. It depends only on the field
+     * values, so data-provider rows holding bookings keep the same text in every JVM.
+     *
+     * @return a string listing every field.
+     */
+    @Override
+    public String toString() {
+        return "Booking{" +
+                "firstname='" + firstname + '\'' +
+                ", lastname='" + lastname + '\'' +
+                ", totalprice=" + totalprice +
+                ", depositpaid=" + depositpaid +
+                ", bookingdates=" + bookingdates +
+                ", additionalneeds='" + additionalneeds + '\'' +
+                '}';
+    }
+
+    /**
+     * Fluent builder for bookings, for payloads that are built once and then serialized.
+     */
+    public static final class Builder {
+
+        /**
+         * The booking being built.
+         */
+        private final Booking booking = new Booking();
+
+        private Builder() {
+        }
+
+        /**
+         * Sets the first name of the customer.
+         *
+         * @param firstname the first name.
+         * @return this builder.
+         */
+        public Builder firstname(String firstname) {
+            booking.firstname = firstname;
+            return this;
+        }
+
+        /**
+         * Sets the last name of the customer.
+         *
+         * @param lastname the last name.
+         * @return this builder.
+         */
+        public Builder lastname(String lastname) {
+            booking.lastname = lastname;
+            return this;
+        }
+
+        /**
+         * Sets the total price of the booking.
+         *
+         * @param totalprice the total price.
+         * @return this builder.
+         */
+        public Builder totalprice(double totalprice) {
+            booking.totalprice = totalprice;
+            return this;
+        }
+
+        /**
+         * Sets the deposit paid status.
+         *
+         * @param depositpaid {@code true} if the deposit has been paid.
+         * @return this builder.
+         */
+        public Builder depositpaid(boolean depositpaid) {
+            booking.depositpaid = depositpaid;
+            return this;
+        }
+
+        /**
+         * Sets the booking dates.
+         *
+         * @param bookingdates the booking dates.
+         * @return this builder.
+         */
+        public Builder bookingdates(BookingDates bookingdates) {
+            booking.bookingdates = bookingdates;
+            return this;
+        }
+
+        /**
+         * Sets the additional needs of the customer.
+         *
+         * @param additionalneeds the additional needs.
+         * @return this builder.
+         */
+        public Builder additionalneeds(String additionalneeds) {
+            booking.additionalneeds = additionalneeds;
+            return this;
+        }
+
+        /**
+         * Returns a copy of the booking built so far, including its dates, so the builder can be reused
+         * and neither the builder nor the caller's dates can change a built booking.
+         *
+         * @return the booking.
+         */
+        public Booking build() {
+            Booking copy = new Booking();
+            copy.firstname = booking.firstname;
+            copy.lastname = booking.lastname;
+            copy.totalprice = booking.totalprice;
+            copy.depositpaid = booking.depositpaid;
+            BookingDates dates = booking.bookingdates;
+            copy.bookingdates = dates == null ? null : new BookingDates(dates.getCheckin(), dates.getCheckout());
+            copy.additionalneeds = booking.additionalneeds;
+            return copy;
+        }
+
+        /**
+         * Serializes the booking built so far with {@link BookingCodec}.
+         *
+         * @return the JSON bytes.
+         */
+        public byte[] toBytes() {
+            return BookingCodec.toBytes(booking);
+        }
+    }
 }
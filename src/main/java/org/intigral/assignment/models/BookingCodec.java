@@ -0,0 +1,126 @@
+package org.intigral.assignment.models;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.intigral.assignment.utils.IsoDates;
+import org.intigral.assignment.utils.JsonByteWriter;
+
+/**
+ * Hand-written, reflection-free JSON codec for {@link Booking} and {@link BookingDates}.
+ * Bookings are written as UTF-8 straight into a {@link JsonByteWriter}, with valid dates formatted
+ * from their epoch days, so a payload can be serialized once and sent as a {@code byte[]} body
+ * any number of times. The output matches the Jackson 2 mapping RestAssured applied to the bean:
+ * the same member order, {@code null}s written and no HTML escaping. Unlike Jackson, it leaves out
+ * the derived {@code dateRangeValid} flag and writes characters outside the Basic Multilingual Plane
+ * as UTF-8 rather than as escaped surrogate pairs.
+ */
+public final class BookingCodec {
+
+    /**
+     * Per-thread reusable buffer for {@link #toBytes(Booking)}.
+     */
+    private static final ThreadLocal<JsonByteWriter> BUFFER = ThreadLocal.withInitial(() -> new JsonByteWriter(256));
+
+    private BookingCodec() {
+    }
+
+    /**
+     * Serializes a booking into a new array, using this thread's reusable buffer.
+     *
+     * @param booking The booking.
+     * @return the JSON bytes.
+     */
+    public static byte[] toBytes(Booking booking) {
+        JsonByteWriter writer = BUFFER.get().reset();
+        write(booking, writer);
+        return writer.toByteArray();
+    }
+
+    /**
+     * Writes a booking as a JSON object.
+     *
+     * @param booking The booking, possibly {@code null}.
+     * @param out     The writer.
+     */
+    public static void write(Booking booking, JsonByteWriter out) {
+        if (booking == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("firstname").value(booking.getFirstname());
+        out.name("lastname").value(booking.getLastname());
+        out.name("totalprice").value(booking.getTotalprice());
+        out.name("depositpaid").value(booking.isDepositpaid());
+        out.name("bookingdates");
+        write(booking.getBookingdates(), out);
+        out.name("additionalneeds").value(booking.getAdditionalneeds());
+        out.endObject();
+    }
+
+    /**
+     * Writes booking dates as a {@code checkin}/{@code checkout} JSON object.
+     *
+     * @param dates The dates, possibly {@code null}.
+     * @param out   The writer.
+     */
+    public static void write(BookingDates dates, JsonByteWriter out) {
+        if (dates == null) {
+            out.nullValue();
+            return;
+        }
+        out.beginObject();
+        out.name("checkin");
+        writeDate(dates.checkinEpochDay(), dates.getCheckin(), out);
+        out.name("checkout");
+        writeDate(dates.checkoutEpochDay(), dates.getCheckout(), out);
+        out.endObject();
+    }
+
+    /**
+     * Reads a booking from an already parsed JSON object, ignoring unknown fields.
+     *
+     * @param json The JSON object, possibly {@code null}.
+     * @return the booking, or {@code null} if the node is missing or not an object.
+     */
+    public static Booking read(JsonNode json) {
+        if (json == null || !json.isObject()) {
+            return null;
+        }
+        Booking booking = new Booking();
+        booking.setFirstname(text(json.get("firstname")));
+        booking.setLastname(text(json.get("lastname")));
+        booking.setTotalprice(json.path("totalprice").asDouble());
+        booking.setDepositpaid(json.path("depositpaid").asBoolean());
+        JsonNode dates = json.get("bookingdates");
+        if (dates != null && dates.isObject()) {
+            booking.setBookingdates(new BookingDates(text(dates.get("checkin")), text(dates.get("checkout"))));
+        }
+        booking.setAdditionalneeds(text(json.get("additionalneeds")));
+        return booking;
+    }
+
+    /**
+     * Gets the text of a scalar node.
+     *
+     * @param node The node, possibly {@code null}.
+     * @return the text, or {@code null} for a missing or {@code null} node.
+     */
+    private static String text(JsonNode node) {
+        return node == null || node.isNull() ? null : node.asText();
+    }
+
+    /**
+     * Writes a date from its epoch day, or its raw text if it is not a valid date.
+     *
+     * @param epochDay The epoch day, or {@link IsoDates#INVALID}.
+     * @param raw      The text to write for an invalid date, possibly {@code null}.
+     * @param out      The writer.
+     */
+    private static void writeDate(int epochDay, String raw, JsonByteWriter out) {
+        if (epochDay == IsoDates.INVALID) {
+            out.value(raw);
+        } else {
+            out.isoDate(epochDay);
+        }
+    }
+}
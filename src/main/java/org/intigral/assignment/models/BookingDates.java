@@ -1,24 +1,42 @@
 package org.intigral.assignment.models;
 
-import java.time.LocalDate;
-import java.time.format.DateTimeFormatter;
-import java.time.format.DateTimeParseException;
+import com.google.gson.TypeAdapter;
+import com.google.gson.annotations.JsonAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
+import com.google.gson.stream.JsonWriter;
+import org.intigral.assignment.utils.IsoDates;
+
+import java.io.IOException;
 
 /**
  * Represents booking dates, including check-in and check-out dates,
  * with validation logic for date formats and date ranges.
+ * Dates are parsed once into epoch days; validation, range checks and
+ * JSON output all work from that compact form.
  */
+@JsonAdapter(BookingDates.GsonAdapter.class)
 public class BookingDates {
 
     /**
-     * The check-in date for the booking in the format yyyy-MM-dd.
+     * The check-in date as days since 1970-01-01, or {@link IsoDates#INVALID} if absent or malformed.
+     */
+    private int checkinDay = IsoDates.INVALID;
+
+    /**
+     * The check-out date as days since 1970-01-01, or {@link IsoDates#INVALID} if absent or malformed.
+     */
+    private int checkoutDay = IsoDates.INVALID;
+
+    /**
+     * The check-in text as given, kept only when it is not a valid date so it is still sent as-is.
      */
-    private String checkin;
+    private String rawCheckin;
 
     /**
-     * The check-out date for the booking in the format yyyy-MM-dd.
+     * The check-out text as given, kept only when it is not a valid date so it is still sent as-is.
      */
-    private String checkout;
+    private String rawCheckout;
 
     /**
      * Default constructor for creating an empty BookingDates instance.
@@ -33,8 +51,24 @@ public class BookingDates {
      * @param checkout The check-out date in the format yyyy-MM-dd.
      */
     public BookingDates(String checkin, String checkout) {
-        this.checkin = checkin;
-        this.checkout = checkout;
+        this.checkinDay = IsoDates.parseEpochDay(checkin);
+        this.rawCheckin = checkinDay == IsoDates.INVALID ? checkin : null;
+        this.checkoutDay = IsoDates.parseEpochDay(checkout);
+        this.rawCheckout = checkoutDay == IsoDates.INVALID ? checkout : null;
+    }
+
+    /**
+     * Creates booking dates directly from epoch days.
+     *
+     * @param checkinDay  The check-in date as days since 1970-01-01.
+     * @param checkoutDay The check-out date as days since 1970-01-01.
+     * @return the booking dates.
+     */
+    public static BookingDates ofEpochDays(int checkinDay, int checkoutDay) {
+        BookingDates dates = new BookingDates();
+        dates.checkinDay = checkinDay;
+        dates.checkoutDay = checkoutDay;
+        return dates;
     }
 
     /**
@@ -43,7 +77,7 @@ public class BookingDates {
      * @return the check-in date as a string in the format yyyy-MM-dd.
      */
     public String getCheckin() {
-        return checkin;
+        return checkinDay == IsoDates.INVALID ? rawCheckin : IsoDates.format(checkinDay);
     }
 
     /**
@@ -53,11 +87,12 @@ public class BookingDates {
      * @throws IllegalArgumentException if the date format is invalid.
      */
     public void setCheckin(String checkin) {
-        if (isValidDate(checkin)) {
-            this.checkin = checkin;
-        } else {
+        int day = IsoDates.parseEpochDay(checkin);
+        if (day == IsoDates.INVALID) {
             throw new IllegalArgumentException("Invalid check-in date format: " + checkin);
         }
+        this.checkinDay = day;
+        this.rawCheckin = null;
     }
 
     /**
@@ -66,7 +101,7 @@ public class BookingDates {
      * @return the check-out date as a string in the format yyyy-MM-dd.
      */
     public String getCheckout() {
-        return checkout;
+        return checkoutDay == IsoDates.INVALID ? rawCheckout : IsoDates.format(checkoutDay);
     }
 
     /**
@@ -76,41 +111,39 @@ public class BookingDates {
      * @throws IllegalArgumentException if the date format is invalid.
      */
     public void setCheckout(String checkout) {
-        if (isValidDate(checkout)) {
-            this.checkout = checkout;
-        } else {
+        int day = IsoDates.parseEpochDay(checkout);
+        if (day == IsoDates.INVALID) {
             throw new IllegalArgumentException("Invalid check-out date format: " + checkout);
         }
+        this.checkoutDay = day;
+        this.rawCheckout = null;
     }
 
     /**
-     * Validates if the input string is in a valid date format (yyyy-MM-dd).
+     * Gets the check-in date as an epoch day.
      *
-     * @param date The date string to validate.
-     * @return true if the date is valid, false otherwise.
-     */
-    private boolean isValidDate(String date) {
-        try {
-            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd");
-            LocalDate.parse(date, formatter);
-            return true;
-        } catch (DateTimeParseException e) {
-            return false;
-        }
+     * @return days since 1970-01-01, or {@link IsoDates#INVALID} if absent or malformed.
+     */
+    public int checkinEpochDay() {
+        return checkinDay;
+    }
+
+    /**
+     * Gets the check-out date as an epoch day.
+     *
+     * @return days since 1970-01-01, or {@link IsoDates#INVALID} if absent or malformed.
+     */
+    public int checkoutEpochDay() {
+        return checkoutDay;
     }
 
     /**
      * Checks if the check-in date is before or equal to the check-out date.
      *
-     * @return true if the check-in date is valid relative to the check-out date, false otherwise.
+     * @return true if both dates are valid and the check-in date is not after the check-out date, false otherwise.
      */
     public boolean isDateRangeValid() {
-        if (checkin == null || checkout == null) {
-            return false;
-        }
-        LocalDate checkinDate = LocalDate.parse(checkin);
-        LocalDate checkoutDate = LocalDate.parse(checkout);
-        return !checkinDate.isAfter(checkoutDate);
+        return checkinDay != IsoDates.INVALID && checkoutDay != IsoDates.INVALID && checkinDay <= checkoutDay;
     }
 
     /**
@@ -121,8 +154,52 @@ public class BookingDates {
     @Override
     public String toString() {
         return "BookingDates{" +
-                "checkin='" + checkin + '\'' +
-                ", checkout='" + checkout + '\'' +
+                "checkin='" + getCheckin() + '\'' +
+                ", checkout='" + getCheckout() + '\'' +
                 '}';
     }
+
+    /**
+     * Gson adapter writing and reading the {@code checkin}/{@code checkout} JSON form
+     * rather than the internal epoch-day fields.
+     */
+    static final class GsonAdapter extends TypeAdapter<BookingDates> {
+
+        @Override
+        public void write(JsonWriter out, BookingDates dates) throws IOException {
+            if (dates == null) {
+                out.nullValue();
+                return;
+            }
+            out.beginObject();
+            out.name("checkin").value(dates.getCheckin());
+            out.name("checkout").value(dates.getCheckout());
+            out.endObject();
+        }
+
+        @Override
+        public BookingDates read(JsonReader in) throws IOException {
+            if (in.peek() == JsonToken.NULL) {
+                in.nextNull();
+                return null;
+            }
+            String checkin = null;
+            String checkout = null;
+            in.beginObject();
+            while (in.hasNext()) {
+                String name = in.nextName();
+                if (in.peek() == JsonToken.NULL) {
+                    in.nextNull();
+                } else if (name.equals("checkin")) {
+                    checkin = in.nextString();
+                } else if (name.equals("checkout")) {
+                    checkout = in.nextString();
+                } else {
+                    in.skipValue();
+                }
+            }
+            in.endObject();
+            return new BookingDates(checkin, checkout);
+        }
+    }
 }
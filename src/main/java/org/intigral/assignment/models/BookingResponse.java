@@ -0,0 +1,48 @@
+package org.intigral.assignment.models;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.fge.jackson.JacksonUtils;
+
+import java.io.IOException;
+
+/**
+ * A booking response body parsed once into a JSON tree, with the booking ID and {@link Booking}
+ * extracted from it. Handles both the create shape ({@code {"bookingid": .., "booking": {..}}})
+ * and the get shape (the booking itself). Field assertions read the typed booking and schema
+ * checks validate {@link #json()}, so a verified response is parsed only once.
+ *
+ * @param bookingId The booking ID, or {@code 0} if the body has none.
+ * @param booking   The booking, or {@code null} if the body has none.
+ * @param json      The parsed body.
+ */
+public record BookingResponse(int bookingId, Booking booking, JsonNode json) {
+
+    /**
+     * Reader for response bodies, configured like the schema loader.
+     */
+    private static final ObjectReader reader = JacksonUtils.getReader();
+
+    /**
+     * Parses a response body.
+     *
+     * @param body The raw JSON body, e.g. {@code response.asByteArray()}.
+     * @return the parsed response.
+     * @throws IllegalArgumentException if the body is not valid JSON.
+     */
+    public static BookingResponse parse(byte[] body) {
+        JsonNode json;
+        try {
+            json = reader.readTree(body);
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Body is not valid JSON", e);
+        }
+        if (json == null || !json.isObject()) {
+            return new BookingResponse(0, null, json);
+        }
+        JsonNode id = json.get("bookingid");
+        JsonNode booking = json.has("bookingid") ? json.get("booking") : json;
+        return new BookingResponse(id != null && id.canConvertToInt() ? id.asInt() : 0,
+                BookingCodec.read(booking), json);
+    }
+}
@@ -0,0 +1,515 @@
+package org.intigral.assignment.server;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonParser;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.intigral.assignment.utils.ConfigManager;
+import org.intigral.assignment.utils.IsoDates;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * In-process stand-in for the restful-booker {@code /booking} and {@code /auth} endpoints.
+ * Runs on the JDK HTTP server with a virtual-thread-per-request executor and keeps bookings
+ * in a concurrent in-memory store, so the suite can run offline and at high request rates.
+ */
+public class BookingStubServer {
+
+    // Small header and body writes otherwise stall on Nagle's algorithm and delayed ACKs
+    static {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    /**
+     * Shared instance started on demand by {@link #shared()}.
+     */
+    private static BookingStubServer sharedServer;
+
+    /**
+     * Underlying JDK HTTP server.
+     */
+    private final HttpServer server;
+
+    /**
+     * Executor handing each exchange to its own virtual thread.
+     */
+    private final ExecutorService executor;
+
+    /**
+     * Stored bookings keyed by booking ID, held as serialized JSON.
+     */
+    private final Map<Integer, byte[]> bookings = new ConcurrentHashMap<>();
+
+    /**
+     * Tokens issued by {@code POST /auth}.
+     */
+    private final Set<String> tokens = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Source of booking IDs.
+     */
+    private final AtomicInteger nextId = new AtomicInteger(1);
+
+    /**
+     * Username accepted by {@code POST /auth} and basic authentication.
+     */
+    private final String username;
+
+    /**
+     * Password accepted by {@code POST /auth} and basic authentication.
+     */
+    private final String password;
+
+    /**
+     * Creates a server bound to the given host and port. A port of {@code 0} picks a free port.
+     *
+     * @param host     The host to bind to.
+     * @param port     The port to bind to.
+     * @param username The accepted username.
+     * @param password The accepted password.
+     * @throws IOException if the server socket cannot be bound.
+     */
+    public BookingStubServer(String host, int port, String username, String password) throws IOException {
+        this.username = username;
+        this.password = password;
+        this.server = HttpServer.create(new InetSocketAddress(host, port), 1024);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(executor);
+        server.createContext("/auth", this::handleAuth);
+        server.createContext("/booking", this::handleBooking);
+        server.createContext("/ping", exchange -> sendText(exchange, 201, "Created"));
+    }
+
+    /**
+     * Returns the shared server, starting it from configuration on first use.
+     *
+     * @return the running shared server.
+     */
+    public static synchronized BookingStubServer shared() {
+        if (sharedServer == null) {
+            try {
+                BookingStubServer server = new BookingStubServer("127.0.0.1",
+                        ConfigManager.config().stubServerPort(),
+                        ConfigManager.config().authUsername(),
+                        ConfigManager.config().authPassword());
+                server.start();
+                sharedServer = server;
+            } catch (IOException e) {
+                throw new RuntimeException("Failed to start booking stub server.", e);
+            }
+        }
+        return sharedServer;
+    }
+
+    /**
+     * Stops the shared server if it was started.
+     */
+    public static synchronized void stopShared() {
+        if (sharedServer != null) {
+            sharedServer.stop();
+            sharedServer = null;
+        }
+    }
+
+    /**
+     * Starts accepting requests.
+     */
+    public void start() {
+        server.start();
+    }
+
+    /**
+     * Stops the server and its executor.
+     */
+    public void stop() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Gets the base URI clients should use to reach this server.
+     *
+     * @return the base URI, e.g. {@code http://127.0.0.1:8080}.
+     */
+    public String baseUri() {
+        InetSocketAddress address = server.getAddress();
+        return "http://" + address.getHostString() + ":" + address.getPort();
+    }
+
+    /**
+     * Handles {@code POST /auth}, issuing a token for valid credentials.
+     *
+     * @param exchange The HTTP exchange.
+     * @throws IOException if the response cannot be written.
+     */
+    private void handleAuth(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                sendText(exchange, 404, "Not Found");
+                return;
+            }
+            JsonObject credentials = readObject(exchange);
+            JsonObject body = new JsonObject();
+            if (credentials != null
+                    && username.equals(stringOrNull(credentials.get("username")))
+                    && password.equals(stringOrNull(credentials.get("password")))) {
+                String token = UUID.randomUUID().toString().replace("-", "").substring(0, 15);
+                tokens.add(token);
+                body.addProperty("token", token);
+            } else {
+                body.addProperty("reason", "Bad credentials");
+            }
+            sendJson(exchange, 200, body.toString().getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    /**
+     * Handles every method on {@code /booking} and {@code /booking/{id}}.
+     *
+     * @param exchange The HTTP exchange.
+     * @throws IOException if the response cannot be written.
+     */
+    private void handleBooking(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            if (path.equals("/booking") || path.equals("/booking/")) {
+                switch (method) {
+                    case "GET" -> listBookings(exchange);
+                    case "POST" -> createBooking(exchange);
+                    default -> sendText(exchange, 404, "Not Found");
+                }
+                return;
+            }
+
+            Integer id = parseId(path.substring("/booking/".length()));
+            if (id == null) {
+                sendText(exchange, 404, "Not Found");
+                return;
+            }
+            switch (method) {
+                case "GET" -> getBooking(exchange, id);
+                case "PUT" -> updateBooking(exchange, id, false);
+                case "PATCH" -> updateBooking(exchange, id, true);
+                case "DELETE" -> deleteBooking(exchange, id);
+                default -> sendText(exchange, 404, "Not Found");
+            }
+        }
+    }
+
+    /**
+     * Responds with the IDs of all stored bookings.
+     *
+     * @param exchange The HTTP exchange.
+     * @throws IOException if the response cannot be written.
+     */
+    private void listBookings(HttpExchange exchange) throws IOException {
+        JsonArray ids = new JsonArray();
+        for (Integer id : bookings.keySet()) {
+            JsonObject entry = new JsonObject();
+            entry.addProperty("bookingid", id);
+            ids.add(entry);
+        }
+        sendJson(exchange, 200, ids.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Validates and stores a new booking.
+     *
+     * @param exchange The HTTP exchange.
+     * @throws IOException if the response cannot be written.
+     */
+    private void createBooking(HttpExchange exchange) throws IOException {
+        JsonObject booking = normalize(readObject(exchange));
+        if (booking == null) {
+            sendText(exchange, 400, "Bad Request");
+            return;
+        }
+        int id = nextId.getAndIncrement();
+        bookings.put(id, booking.toString().getBytes(StandardCharsets.UTF_8));
+
+        JsonObject body = new JsonObject();
+        body.addProperty("bookingid", id);
+        body.add("booking", booking);
+        sendJson(exchange, 200, body.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Responds with a stored booking and its {@code ETag}, or with {@code 304} when it matches
+     * {@code If-None-Match}. The tag is a weak one over length and content, in the format
+     * restful-booker sends.
+     *
+     * @param exchange The HTTP exchange.
+     * @param id       The booking ID.
+     * @throws IOException if the response cannot be written.
+     */
+    private void getBooking(HttpExchange exchange, int id) throws IOException {
+        byte[] booking = bookings.get(id);
+        if (booking == null) {
+            sendText(exchange, 404, "Not Found");
+            return;
+        }
+        String etag = "W/\"" + Integer.toHexString(booking.length) + "-" + Integer.toHexString(Arrays.hashCode(booking)) + "\"";
+        exchange.getResponseHeaders().set("ETag", etag);
+        if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+            exchange.sendResponseHeaders(304, -1);
+            exchange.close();
+        } else {
+            sendJson(exchange, 200, booking);
+        }
+    }
+
+    /**
+     * Replaces ({@code PUT}) or merges into ({@code PATCH}) a stored booking.
+     *
+     * @param exchange The HTTP exchange.
+     * @param id       The booking ID.
+     * @param partial  {@code true} to merge the request into the stored booking.
+     * @throws IOException if the response cannot be written.
+     */
+    private void updateBooking(HttpExchange exchange, int id, boolean partial) throws IOException {
+        if (!isAuthorized(exchange)) {
+            sendText(exchange, 403, "Forbidden");
+            return;
+        }
+        byte[] existing = bookings.get(id);
+        if (existing == null) {
+            sendText(exchange, 405, "Method Not Allowed");
+            return;
+        }
+        JsonObject update = readObject(exchange);
+        if (partial && update != null) {
+            JsonObject merged = JsonParser.parseString(new String(existing, StandardCharsets.UTF_8)).getAsJsonObject();
+            update.entrySet().forEach(entry -> merged.add(entry.getKey(), entry.getValue()));
+            update = merged;
+        }
+        JsonObject booking = normalize(update);
+        if (booking == null) {
+            sendText(exchange, 400, "Bad Request");
+            return;
+        }
+        byte[] body = booking.toString().getBytes(StandardCharsets.UTF_8);
+        bookings.put(id, body);
+        sendJson(exchange, 200, body);
+    }
+
+    /**
+     * Deletes a stored booking, answering {@code 201} like the real service.
+     *
+     * @param exchange The HTTP exchange.
+     * @param id       The booking ID.
+     * @throws IOException if the response cannot be written.
+     */
+    private void deleteBooking(HttpExchange exchange, int id) throws IOException {
+        if (!isAuthorized(exchange)) {
+            sendText(exchange, 403, "Forbidden");
+        } else if (bookings.remove(id) == null) {
+            sendText(exchange, 405, "Method Not Allowed");
+        } else {
+            sendText(exchange, 201, "Created");
+        }
+    }
+
+    /**
+     * Checks the {@code token} cookie or basic authentication header of a request.
+     *
+     * @param exchange The HTTP exchange.
+     * @return {@code true} if the request carries valid credentials.
+     */
+    private boolean isAuthorized(HttpExchange exchange) {
+        String cookie = exchange.getRequestHeaders().getFirst("Cookie");
+        if (cookie != null) {
+            for (String pair : cookie.split(";")) {
+                String trimmed = pair.trim();
+                if (trimmed.startsWith("token=") && tokens.contains(trimmed.substring("token=".length()))) {
+                    return true;
+                }
+            }
+        }
+        String authorization = exchange.getRequestHeaders().getFirst("Authorization");
+        if (authorization != null && authorization.startsWith("Basic ")) {
+            String expected = Base64.getEncoder()
+                    .encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+            return expected.equals(authorization.substring("Basic ".length()).trim());
+        }
+        return false;
+    }
+
+    /**
+     * Applies the booking validation rules and builds the stored representation.
+     * Names must be non-empty, {@code totalprice} non-negative and {@code bookingdates}
+     * present with valid dates where check-in is not after check-out.
+     *
+     * @param request The parsed request body, possibly {@code null}.
+     * @return the normalized booking, or {@code null} if the request is invalid.
+     */
+    private JsonObject normalize(JsonObject request) {
+        if (request == null) {
+            return null;
+        }
+        String firstname = stringOrNull(request.get("firstname"));
+        String lastname = stringOrNull(request.get("lastname"));
+        if (firstname == null || firstname.isEmpty() || lastname == null || lastname.isEmpty()) {
+            return null;
+        }
+        JsonElement totalprice = request.get("totalprice");
+        if (!isNumber(totalprice) || totalprice.getAsDouble() < 0) {
+            return null;
+        }
+        JsonElement depositpaid = request.get("depositpaid");
+        if (depositpaid == null || !depositpaid.isJsonPrimitive() || !depositpaid.getAsJsonPrimitive().isBoolean()) {
+            return null;
+        }
+        JsonElement dates = request.get("bookingdates");
+        if (dates == null || !dates.isJsonObject()) {
+            return null;
+        }
+        String checkin = stringOrNull(dates.getAsJsonObject().get("checkin"));
+        String checkout = stringOrNull(dates.getAsJsonObject().get("checkout"));
+        if (!isDateRangeValid(checkin, checkout)) {
+            return null;
+        }
+
+        JsonObject bookingdates = new JsonObject();
+        bookingdates.addProperty("checkin", checkin);
+        bookingdates.addProperty("checkout", checkout);
+        JsonObject booking = new JsonObject();
+        booking.addProperty("firstname", firstname);
+        booking.addProperty("lastname", lastname);
+        booking.add("totalprice", totalprice);
+        booking.add("depositpaid", depositpaid);
+        booking.add("bookingdates", bookingdates);
+        String additionalneeds = stringOrNull(request.get("additionalneeds"));
+        if (additionalneeds != null) {
+            booking.addProperty("additionalneeds", additionalneeds);
+        }
+        return booking;
+    }
+
+    /**
+     * Checks that both dates are valid ISO dates and check-in is not after check-out.
+     *
+     * @param checkin  The check-in date.
+     * @param checkout The check-out date.
+     * @return {@code true} if the range is valid.
+     */
+    private static boolean isDateRangeValid(String checkin, String checkout) {
+        int checkinDay = IsoDates.parseEpochDay(checkin);
+        int checkoutDay = IsoDates.parseEpochDay(checkout);
+        return checkinDay != IsoDates.INVALID && checkoutDay != IsoDates.INVALID && checkinDay <= checkoutDay;
+    }
+
+    /**
+     * Reads the request body as a JSON object.
+     *
+     * @param exchange The HTTP exchange.
+     * @return the parsed object, or {@code null} if the body is not a JSON object.
+     * @throws IOException if the body cannot be read.
+     */
+    private static JsonObject readObject(HttpExchange exchange) throws IOException {
+        try (InputStream in = exchange.getRequestBody()) {
+            JsonElement element = JsonParser.parseReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+            return element.isJsonObject() ? element.getAsJsonObject() : null;
+        } catch (JsonParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Parses a booking ID path segment.
+     *
+     * @param segment The path segment.
+     * @return the ID, or {@code null} if the segment is not a number.
+     */
+    private static Integer parseId(String segment) {
+        try {
+            return Integer.valueOf(segment);
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns the string value of a JSON element.
+     *
+     * @param element The element, possibly {@code null}.
+     * @return the string, or {@code null} if the element is not a string.
+     */
+    private static String stringOrNull(JsonElement element) {
+        if (element == null || !element.isJsonPrimitive() || !element.getAsJsonPrimitive().isString()) {
+            return null;
+        }
+        return element.getAsString();
+    }
+
+    /**
+     * Checks whether a JSON element is a number.
+     *
+     * @param element The element, possibly {@code null}.
+     * @return {@code true} if the element is a number.
+     */
+    private static boolean isNumber(JsonElement element) {
+        return element != null && element.isJsonPrimitive() && element.getAsJsonPrimitive().isNumber();
+    }
+
+    /**
+     * Sends a JSON response.
+     *
+     * @param exchange The HTTP exchange.
+     * @param status   The status code.
+     * @param body     The serialized body.
+     * @throws IOException if the response cannot be written.
+     */
+    private static void sendJson(HttpExchange exchange, int status, byte[] body) throws IOException {
+        send(exchange, status, "application/json; charset=utf-8", body);
+    }
+
+    /**
+     * Sends a plain-text response.
+     *
+     * @param exchange The HTTP exchange.
+     * @param status   The status code.
+     * @param text     The body text.
+     * @throws IOException if the response cannot be written.
+     */
+    private static void sendText(HttpExchange exchange, int status, String text) throws IOException {
+        send(exchange, status, "text/plain; charset=utf-8", text.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes the status, content type and body of a response.
+     *
+     * @param exchange    The HTTP exchange.
+     * @param status      The status code.
+     * @param contentType The content type header value.
+     * @param body        The body bytes.
+     * @throws IOException if the response cannot be written.
+     */
+    private static void send(HttpExchange exchange, int status, String contentType, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
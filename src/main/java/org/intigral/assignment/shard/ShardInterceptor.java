@@ -0,0 +1,163 @@
+package org.intigral.assignment.shard;
+
+import org.intigral.assignment.utils.ConfigManager;
+import org.testng.IDataProviderInterceptor;
+import org.testng.IDataProviderMethod;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.stream.StreamSupport;
+
+/**
+ * TestNG listener running only this JVM's shard of the suite, as set by {@code shardIndex} of
+ * {@code shardCount}. Plain test methods are kept or dropped as a whole; methods linked by
+ * {@code dependsOnMethods} share their group's shard so no dependency is split off. Data-driven
+ * methods run on every shard, and their rows are filtered one by one as the provider produces
+ * them, so lazy providers stay lazy. Rows are keyed by {@link ShardPlan#parameters(Object[])}, which
+ * rejects parameters without a deterministic {@code toString()}. When {@code shardHistoryPath} names the results file of a
+ * previous run, the plan is balanced on its durations. With one shard nothing is filtered.
+ */
+public class ShardInterceptor implements IMethodInterceptor, IDataProviderInterceptor {
+
+    /**
+     * The plan of this JVM, created when the first test method list is intercepted.
+     */
+    private static volatile ShardPlan plan;
+
+    /**
+     * Keeps the test methods of this shard.
+     *
+     * @param methods The methods TestNG is about to run.
+     * @param context The test context.
+     * @return the methods of this shard, in their original order.
+     */
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (ShardPlan.configuredCount() <= 1) {
+            return methods;
+        }
+        Map<String, String> groups = dependencyGroups(methods);
+        ShardPlan shardPlan = plan(groups);
+        List<IMethodInstance> kept = new ArrayList<>(methods.size());
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            String key = methodKey(method);
+            if (method.isDataDriven() || shardPlan.owns(groups.getOrDefault(key, key))) {
+                kept.add(instance);
+            }
+        }
+        System.out.println("Shard " + ShardPlan.configuredIndex() + "/" + shardPlan.count() + ": running "
+                + kept.size() + " of " + methods.size() + " test methods");
+        return kept;
+    }
+
+    /**
+     * Keeps the data-provider rows of this shard, lazily.
+     *
+     * @param original           The rows produced by the provider.
+     * @param dataProviderMethod The data provider.
+     * @param method             The test method.
+     * @param context            The test context.
+     * @return the rows of this shard.
+     */
+    @Override
+    public Iterator<Object[]> intercept(Iterator<Object[]> original, IDataProviderMethod dataProviderMethod,
+                                        ITestNGMethod method, ITestContext context) {
+        if (ShardPlan.configuredCount() <= 1) {
+            return original;
+        }
+        ShardPlan shardPlan = plan(Map.of());
+        String className = method.getRealClass().getName();
+        String methodName = method.getMethodName();
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(original, Spliterator.ORDERED), false)
+                .filter(row -> shardPlan.owns(ShardPlan.key(className, methodName, ShardPlan.parameters(row))))
+                .iterator();
+    }
+
+    /**
+     * Gets the plan of this JVM, creating it on first use.
+     *
+     * @param groups The dependency group of each grouped method key.
+     * @return the plan.
+     */
+    private static ShardPlan plan(Map<String, String> groups) {
+        ShardPlan current = plan;
+        if (current != null) {
+            return current;
+        }
+        synchronized (ShardInterceptor.class) {
+            if (plan == null) {
+                Map<String, Long> durations = new HashMap<>();
+                String history = ConfigManager.get("shardHistoryPath").trim();
+                if (!history.isEmpty()) {
+                    ShardPlan.history(Path.of(history))
+                            .forEach((key, millis) -> durations.merge(groups.getOrDefault(key, key), millis, Long::sum));
+                }
+                plan = new ShardPlan(ShardPlan.configuredIndex(), ShardPlan.configuredCount(), durations);
+            }
+            return plan;
+        }
+    }
+
+    /**
+     * Groups methods connected by {@code dependsOnMethods}, using union-find over method keys.
+     *
+     * @param methods The methods.
+     * @return the group key, the smallest key of its group, of every method in a group.
+     */
+    private static Map<String, String> dependencyGroups(List<IMethodInstance> methods) {
+        Map<String, String> parents = new HashMap<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            for (String dependency : method.getMethodsDependedUpon()) {
+                String first = find(parents, methodKey(method));
+                String second = find(parents, dependency);
+                if (first.compareTo(second) < 0) {
+                    parents.put(second, first);
+                } else if (first.compareTo(second) > 0) {
+                    parents.put(first, second);
+                }
+            }
+        }
+        Map<String, String> groups = new HashMap<>();
+        for (String key : List.copyOf(parents.keySet())) {
+            groups.put(key, find(parents, key));
+        }
+        return groups;
+    }
+
+    /**
+     * Finds the group key of a method key.
+     *
+     * @param parents The union-find parents.
+     * @param key     The method key.
+     * @return the group key.
+     */
+    private static String find(Map<String, String> parents, String key) {
+        String root = parents.computeIfAbsent(key, k -> k);
+        while (!root.equals(parents.get(root))) {
+            root = parents.get(root);
+        }
+        return root;
+    }
+
+    /**
+     * Gets the key of a test method, matching the fully qualified names used by {@code dependsOnMethods}.
+     *
+     * @param method The method.
+     * @return the key.
+     */
+    private static String methodKey(ITestNGMethod method) {
+        return ShardPlan.key(method.getRealClass().getName(), method.getMethodName(), null);
+    }
+}
@@ -0,0 +1,276 @@
+package org.intigral.assignment.shard;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.intigral.assignment.utils.ConfigManager;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deterministic assignment of test keys to one of {@code count} shards.
+ * <p>
+ * Keys with a known duration (from a previous run's results file) are spread by longest-processing-time
+ * first: sorted by duration, each goes to the least loaded shard. Every other key goes to the shard given
+ * by a stable 64-bit FNV-1a hash of its text. Both steps depend only on the keys and the history file, so
+ * every JVM and node computes the same plan and each test runs on exactly one shard.
+ */
+public class ShardPlan {
+
+    /**
+     * This JVM's shard, from 0.
+     */
+    private final int index;
+
+    /**
+     * Number of shards.
+     */
+    private final int count;
+
+    /**
+     * Shard of every key with a known duration.
+     */
+    private final Map<String, Integer> balanced = new HashMap<>();
+
+    /**
+     * Creates a plan.
+     *
+     * @param index     This JVM's shard, from 0.
+     * @param count     Number of shards, at least 1.
+     * @param durations Known durations in milliseconds by key, possibly empty.
+     */
+    public ShardPlan(int index, int count, Map<String, Long> durations) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + count);
+        }
+        this.index = index;
+        this.count = count;
+        List<Map.Entry<String, Long>> entries = new ArrayList<>(durations.entrySet());
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()));
+        long[] loads = new long[count];
+        for (Map.Entry<String, Long> entry : entries) {
+            int lightest = 0;
+            for (int shard = 1; shard < count; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            loads[lightest] += entry.getValue();
+            balanced.put(entry.getKey(), lightest);
+        }
+    }
+
+    /**
+     * Gets the shard of this JVM from {@code shardIndex} and {@code shardCount}.
+     *
+     * @return the shard index.
+     */
+    public static int configuredIndex() {
+        return ConfigManager.config().shardIndex();
+    }
+
+    /**
+     * Gets the number of shards from {@code shardCount}.
+     *
+     * @return the shard count.
+     */
+    public static int configuredCount() {
+        return ConfigManager.config().shardCount();
+    }
+
+    /**
+     * Checks whether this JVM runs the given key.
+     *
+     * @param key The test key.
+     * @return {@code true} if the key belongs to this plan's shard.
+     */
+    public boolean owns(String key) {
+        return shardOf(key) == index;
+    }
+
+    /**
+     * Gets the shard of a key.
+     *
+     * @param key The test key.
+     * @return the shard index.
+     */
+    public int shardOf(String key) {
+        Integer shard = balanced.get(key);
+        return shard != null ? shard : (int) Long.remainderUnsigned(hash(key), count);
+    }
+
+    /**
+     * Gets the number of shards.
+     *
+     * @return the shard count.
+     */
+    public int count() {
+        return count;
+    }
+
+    /**
+     * Builds the key of a test method or of one data-provider row, as recorded in the results file.
+     *
+     * @param className  The test class.
+     * @param methodName The test method.
+     * @param parameters The row's parameters as {@link #parameters(Object[])}, or {@code null} for a method.
+     * @return the key.
+     */
+    public static String key(String className, String methodName, String parameters) {
+        String key = className + "." + methodName;
+        return parameters == null || parameters.isEmpty() ? key : key + parameters;
+    }
+
+    /**
+     * Formats a data-provider row for its key, as the results file records it.
+     * The text must be the same in every JVM, so a parameter whose class keeps
+     * {@link Object#toString()}, which includes the identity hash, is rejected.
+     *
+     * @param row The row's parameters.
+     * @return the row as {@code Arrays.deepToString}.
+     * @throws IllegalStateException if a parameter has no deterministic {@code toString()}.
+     */
+    public static String parameters(Object[] row) {
+        for (Object parameter : row) {
+            if (parameter instanceof Object[] nested) {
+                parameters(nested);
+            } else if (parameter != null && !parameter.getClass().isArray() && !overridesToString(parameter.getClass())) {
+                throw new IllegalStateException("Data-provider parameter " + parameter.getClass().getName()
+                        + " needs a toString() that depends only on its value to be sharded");
+            }
+        }
+        return Arrays.deepToString(row);
+    }
+
+    /**
+     * Formats a data-provider row for reports, as {@link #parameters(Object[])} does for a row it accepts.
+     * A parameter without a deterministic {@code toString()} is written as its class name instead of failing,
+     * so the text is still the same in every JVM.
+     *
+     * @param row The row's parameters.
+     * @return the row as {@code Arrays.deepToString}.
+     */
+    public static String describe(Object[] row) {
+        return Arrays.deepToString(stable(row));
+    }
+
+    /**
+     * Copies a row, replacing each parameter without a deterministic {@code toString()} by its class name.
+     *
+     * @param row The row's parameters.
+     * @return the copy.
+     */
+    private static Object[] stable(Object[] row) {
+        Object[] copy = new Object[row.length];
+        for (int i = 0; i < row.length; i++) {
+            Object parameter = row[i];
+            if (parameter instanceof Object[] nested) {
+                copy[i] = stable(nested);
+            } else if (parameter != null && !parameter.getClass().isArray() && !overridesToString(parameter.getClass())) {
+                copy[i] = parameter.getClass().getName();
+            } else {
+                copy[i] = parameter;
+            }
+        }
+        return copy;
+    }
+
+    /**
+     * Checks whether a class replaces {@link Object#toString()}.
+     *
+     * @param type The class.
+     * @return {@code true} if {@code toString()} is declared below {@link Object}.
+     */
+    private static boolean overridesToString(Class<?> type) {
+        try {
+            return type.getMethod("toString").getDeclaringClass() != Object.class;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Reads the test durations of a previous run, summed by key. Request records are ignored.
+     *
+     * @param resultsPath A results file written by the report listener, or merged by {@code ReportMerger}.
+     * @return the durations in milliseconds by key, empty if the file does not exist.
+     */
+    public static Map<String, Long> history(Path resultsPath) {
+        Map<String, Long> durations = new HashMap<>();
+        if (!Files.isRegularFile(resultsPath)) {
+            return durations;
+        }
+        try (BufferedReader in = Files.newBufferedReader(resultsPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonObject result = JsonParser.parseString(line).getAsJsonObject();
+                JsonElement type = result.get("type");
+                if (type != null && !"test".equals(type.getAsString())) {
+                    // Request records of load and lifecycle runs
+                    continue;
+                }
+                JsonElement parameters = result.get("parameters");
+                String key = key(result.get("class").getAsString(), result.get("name").getAsString(),
+                        parameters == null || parameters.isJsonNull() ? null : parameters.getAsString());
+                durations.merge(key, result.get("durationMillis").getAsLong(), Long::sum);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read shard history: " + resultsPath, e);
+        }
+        return durations;
+    }
+
+    /**
+     * Suffixes a report or results path with a shard, e.g. {@code target/results-shard-2.jsonl}.
+     *
+     * @param path  The unsharded path.
+     * @param shard The shard index.
+     * @return the shard's path.
+     */
+    public static String shardPath(String path, int shard) {
+        int slash = Math.max(path.lastIndexOf('/'), path.lastIndexOf('\\'));
+        int dot = path.lastIndexOf('.');
+        String suffix = "-shard-" + shard;
+        return dot > slash ? path.substring(0, dot) + suffix + path.substring(dot) : path + suffix;
+    }
+
+    /**
+     * Gets the path this JVM writes a report to: the configured path, suffixed with the shard when
+     * the suite is sharded.
+     *
+     * @param path The configured path.
+     * @return the path to write.
+     */
+    public static String localPath(String path) {
+        return configuredCount() > 1 ? shardPath(path, configuredIndex()) : path;
+    }
+
+    /**
+     * Hashes a key with 64-bit FNV-1a over its UTF-8 bytes, which unlike {@link Object#hashCode()}
+     * is specified independently of the JVM.
+     *
+     * @param key The key.
+     * @return the hash.
+     */
+    static long hash(String key) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,102 @@
+package org.intigral.assignment.shard;
+
+import org.intigral.assignment.listeners.ReportMerger;
+import org.intigral.assignment.utils.ConfigManager;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Command-line entry point running the {@code shardSuite} suite as {@code shardCount} shards, each in
+ * its own JVM on this machine, then merging their reports with {@link ReportMerger}. Configuration set
+ * as system properties is passed on to every shard; each shard's output goes to
+ * {@code target/shard-<n>.log}. Needs the test classes on the classpath.
+ */
+public class ShardRunner {
+
+    /**
+     * Runs the shards, merges their reports and exits with status 1 if any shard failed.
+     *
+     * @param args Unused.
+     */
+    public static void main(String[] args) {
+        int count = ShardPlan.configuredCount();
+        String suite = ConfigManager.get("shardSuite");
+        String java = Path.of(System.getProperty("java.home"), "bin", "java").toString();
+        String classPath = classPath();
+
+        List<Process> processes = new ArrayList<>();
+        for (int shard = 0; shard < count; shard++) {
+            List<String> command = new ArrayList<>();
+            command.add(java);
+            command.add("-cp");
+            command.add(classPath);
+            for (String key : System.getProperties().stringPropertyNames()) {
+                if (ConfigManager.get(key) != null && !key.equals("shardIndex") && !key.equals("shardCount")) {
+                    command.add("-D" + key + "=" + System.getProperty(key));
+                }
+            }
+            command.add("-DshardCount=" + count);
+            command.add("-DshardIndex=" + shard);
+            command.add("org.testng.TestNG");
+            command.add("-d");
+            command.add("target/shard-" + shard + "-testng");
+            command.add(suite);
+            Path log = Path.of("target", "shard-" + shard + ".log");
+            try {
+                Files.createDirectories(log.getParent());
+                processes.add(new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to start shard " + shard, e);
+            }
+            System.out.println("Started shard " + shard + "/" + count + ", logging to " + log);
+        }
+
+        boolean passed = true;
+        for (int shard = 0; shard < count; shard++) {
+            int exit = processes.get(shard).onExit().join().exitValue();
+            System.out.println("Shard " + shard + " exited with " + exit);
+            passed &= exit == 0;
+        }
+        List<Path> results = new ArrayList<>();
+        for (int shard = 0; shard < count; shard++) {
+            results.add(Path.of(ShardPlan.shardPath(ConfigManager.get("resultsPath"), shard)));
+        }
+        long failed = ReportMerger.merge(results, Path.of(ConfigManager.get("resultsPath")),
+                ConfigManager.get("reportPath"), ConfigManager.getBoolean("reportTestNodes"));
+        System.exit(passed && failed == 0 ? 0 : 1);
+    }
+
+    /**
+     * Gets the classpath of this JVM, including the entries of the loaders a launcher such as
+     * {@code exec:java} adds on top of the system classpath.
+     *
+     * @return the classpath.
+     */
+    private static String classPath() {
+        Set<String> entries = new LinkedHashSet<>();
+        for (ClassLoader loader = Thread.currentThread().getContextClassLoader(); loader != null; loader = loader.getParent()) {
+            if (loader instanceof URLClassLoader urlLoader) {
+                for (URL url : urlLoader.getURLs()) {
+                    try {
+                        entries.add(Path.of(url.toURI()).toString());
+                    } catch (URISyntaxException | IllegalArgumentException e) {
+                        // Not a file, cannot be passed on
+                    }
+                }
+            }
+        }
+        entries.addAll(List.of(System.getProperty("java.class.path").split(File.pathSeparator)));
+        return String.join(File.pathSeparator, entries);
+    }
+}
@@ -0,0 +1,294 @@
+package org.intigral.assignment.utils;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Lock-free rate limiter whose rate adapts to the server's responses.
+ * <p>
+ * Permits follow the generic cell rate algorithm: a single atomic "theoretical arrival time" is
+ * advanced by one interval per permit with a CAS, which is a token bucket without a refill thread.
+ * A caller whose permit lies in the future parks until then, or with {@link #reserve()} schedules
+ * its call for then without blocking; up to {@code burst} permits are granted at once after an
+ * idle period.
+ * <p>
+ * The rate is adjusted once per window using AIMD: if the share of throttled (429/503), failed or
+ * slower-than-target calls in the window reaches the error threshold, the rate is multiplied by
+ * the decrease factor, otherwise it grows by a fixed step, always within the configured bounds.
+ * Decreases are counted and summarized by {@link #table()} for the report.
+ */
+public class AdaptiveRateLimiter {
+
+    /**
+     * Lowest rate in permits per second.
+     */
+    private final double minRate;
+
+    /**
+     * Highest rate in permits per second.
+     */
+    private final double maxRate;
+
+    /**
+     * Permits granted at once after an idle period.
+     */
+    private final int burst;
+
+    /**
+     * Rate added after a healthy window, in permits per second.
+     */
+    private final double increase;
+
+    /**
+     * Factor applied to the rate after an unhealthy window.
+     */
+    private final double decreaseFactor;
+
+    /**
+     * Share of bad calls in a window that makes it unhealthy.
+     */
+    private final double errorThreshold;
+
+    /**
+     * Latency above which a call counts as bad.
+     */
+    private final long latencyTargetNanos;
+
+    /**
+     * Length of an adjustment window.
+     */
+    private final long windowNanos;
+
+    /**
+     * Current interval between permits.
+     */
+    private final AtomicLong intervalNanos;
+
+    /**
+     * Time at which the next permit is free.
+     */
+    private final AtomicLong nextPermit;
+
+    /**
+     * Start of the current adjustment window.
+     */
+    private final AtomicLong windowStart;
+
+    /**
+     * Calls completed in the current window.
+     */
+    private final LongAdder windowCalls = new LongAdder();
+
+    /**
+     * Bad calls completed in the current window.
+     */
+    private final LongAdder windowBad = new LongAdder();
+
+    /**
+     * Bad calls completed over the limiter's lifetime.
+     */
+    private final LongAdder totalBad = new LongAdder();
+
+    /**
+     * Number of windows after which the rate was lowered.
+     */
+    private final AtomicLong decreases = new AtomicLong();
+
+    /**
+     * Longest interval between permits so far, i.e. the lowest rate reached.
+     */
+    private final AtomicLong longestIntervalNanos;
+
+    /**
+     * Creates a limiter.
+     *
+     * @param initialRate     Starting rate in permits per second.
+     * @param minRate         Lowest rate in permits per second.
+     * @param maxRate         Highest rate in permits per second.
+     * @param burst           Permits granted at once after an idle period, at least 1.
+     * @param increase        Rate added after a healthy window, in permits per second, at least 0.
+     * @param decreaseFactor  Factor applied to the rate after an unhealthy window, in (0, 1).
+     * @param errorThreshold  Share of bad calls in a window that makes it unhealthy, in (0, 1].
+     * @param latencyTarget   Latency in milliseconds above which a call counts as bad, positive.
+     * @param windowMillis    Length of an adjustment window in milliseconds, positive.
+     * @throws IllegalArgumentException if a setting is out of range.
+     */
+    public AdaptiveRateLimiter(double initialRate, double minRate, double maxRate, int burst, double increase,
+                               double decreaseFactor, double errorThreshold, long latencyTarget, long windowMillis) {
+        if (minRate <= 0 || maxRate < minRate || burst < 1 || decreaseFactor <= 0 || decreaseFactor >= 1) {
+            throw new IllegalArgumentException("Invalid rate limit settings");
+        }
+        if (!(errorThreshold > 0 && errorThreshold <= 1)) {
+            throw new IllegalArgumentException("Error threshold must be in (0, 1]: " + errorThreshold);
+        }
+        if (!(increase >= 0)) {
+            throw new IllegalArgumentException("Rate increase must not be negative: " + increase);
+        }
+        if (latencyTarget <= 0 || windowMillis <= 0) {
+            throw new IllegalArgumentException("Latency target and window must be positive: " + latencyTarget + ", " + windowMillis);
+        }
+        this.minRate = minRate;
+        this.maxRate = maxRate;
+        this.burst = burst;
+        this.increase = increase;
+        this.decreaseFactor = decreaseFactor;
+        this.errorThreshold = errorThreshold;
+        this.latencyTargetNanos = TimeUnit.MILLISECONDS.toNanos(latencyTarget);
+        this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+        long now = System.nanoTime();
+        this.intervalNanos = new AtomicLong(interval(Math.max(minRate, Math.min(maxRate, initialRate))));
+        this.longestIntervalNanos = new AtomicLong(intervalNanos.get());
+        this.nextPermit = new AtomicLong(now);
+        this.windowStart = new AtomicLong(now);
+    }
+
+    /**
+     * Gets the limiter shared by every request of the run, whatever client engine sends it.
+     *
+     * @return the limiter, or {@code null} when {@code rateLimitEnabled} is off or a cassette is replayed.
+     */
+    public static AdaptiveRateLimiter shared() {
+        return Shared.INSTANCE;
+    }
+
+    /**
+     * Creates a limiter from the {@code rateLimit*} configuration.
+     *
+     * @return the limiter.
+     */
+    public static AdaptiveRateLimiter fromConfig() {
+        return new AdaptiveRateLimiter(
+                ConfigManager.getDouble("rateLimitInitialPerSecond"),
+                ConfigManager.getDouble("rateLimitMinPerSecond"),
+                ConfigManager.getDouble("rateLimitMaxPerSecond"),
+                ConfigManager.getInt("rateLimitBurst"),
+                ConfigManager.getDouble("rateLimitIncreasePerSecond"),
+                ConfigManager.getDouble("rateLimitDecreaseFactor"),
+                ConfigManager.getDouble("rateLimitErrorThreshold"),
+                ConfigManager.getLong("rateLimitLatencyTargetMillis"),
+                ConfigManager.getLong("rateLimitWindowMillis"));
+    }
+
+    /**
+     * Takes a permit, parking until it is due.
+     *
+     * @return the time waited in nanoseconds.
+     * @throws IllegalStateException if the caller is interrupted while waiting; its interrupt flag stays set.
+     */
+    public long acquire() {
+        long wait = reserve();
+        long permit = System.nanoTime() + wait;
+        for (long remaining = wait; remaining > 0; remaining = permit - System.nanoTime()) {
+            LockSupport.parkNanos(remaining);
+            // parkNanos returns at once while the flag is set, so an interrupted caller would spin
+            if (Thread.currentThread().isInterrupted()) {
+                throw new IllegalStateException("Interrupted while waiting for a rate limit permit");
+            }
+        }
+        return Math.max(0, wait);
+    }
+
+    /**
+     * Takes a permit without waiting for it.
+     *
+     * @return the nanoseconds until the permit is due, {@code 0} or less if it is due now.
+     */
+    public long reserve() {
+        long now = System.nanoTime();
+        long interval = intervalNanos.get();
+        while (true) {
+            long next = nextPermit.get();
+            // After an idle period, allow up to burst permits immediately
+            long permit = Math.max(next, now - (burst - 1) * interval);
+            if (nextPermit.compareAndSet(next, permit + interval)) {
+                return permit - now;
+            }
+        }
+    }
+
+    /**
+     * Feeds the outcome of a call to the rate controller.
+     *
+     * @param status       The response status, or {@code 0} if the call failed without a response.
+     * @param latencyNanos The call latency, excluding the time waited for the permit.
+     */
+    public void record(int status, long latencyNanos) {
+        windowCalls.increment();
+        if (status == 0 || status == 429 || status == 503 || latencyNanos > latencyTargetNanos) {
+            windowBad.increment();
+            totalBad.increment();
+        }
+        long start = windowStart.get();
+        long now = System.nanoTime();
+        if (now - start >= windowNanos && windowStart.compareAndSet(start, now)) {
+            adjust();
+        }
+    }
+
+    /**
+     * Gets the current rate.
+     *
+     * @return permits per second.
+     */
+    public double rate() {
+        return TimeUnit.SECONDS.toNanos(1) / (double) intervalNanos.get();
+    }
+
+    /**
+     * Summarizes the limiter for the report.
+     *
+     * @return the table rows, header first.
+     */
+    public String[][] table() {
+        return new String[][]{
+                {"Current /s", "Lowest /s", "Decreases", "Throttled, failed or slow calls"},
+                {String.format("%.1f", rate()), String.format("%.1f", TimeUnit.SECONDS.toNanos(1) / (double) longestIntervalNanos.get()),
+                        String.valueOf(decreases.get()), String.valueOf(totalBad.sum())}
+        };
+    }
+
+    /**
+     * Applies AIMD to the window just closed. Only the thread that closed the window gets here.
+     */
+    private void adjust() {
+        long calls = windowCalls.sumThenReset();
+        long bad = windowBad.sumThenReset();
+        if (calls == 0) {
+            return;
+        }
+        double rate = rate();
+        double next = bad >= calls * errorThreshold ? rate * decreaseFactor : rate + increase;
+        next = Math.max(minRate, Math.min(maxRate, next));
+        long interval = interval(next);
+        if (next < rate) {
+            decreases.incrementAndGet();
+            longestIntervalNanos.accumulateAndGet(interval, Math::max);
+        }
+        intervalNanos.set(interval);
+    }
+
+    /**
+     * Converts a rate to the interval between permits.
+     *
+     * @param rate Permits per second.
+     * @return the interval in nanoseconds, at least 1.
+     */
+    private static long interval(double rate) {
+        return Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / rate));
+    }
+
+    /**
+     * Holder creating the shared limiter on first use.
+     */
+    private static final class Shared {
+
+        /**
+         * The shared limiter, or {@code null}.
+         */
+        static final AdaptiveRateLimiter INSTANCE =
+                ConfigManager.getBoolean("rateLimitEnabled") && !"replay".equalsIgnoreCase(ConfigManager.get("cassetteMode").trim())
+                        ? fromConfig() : null;
+    }
+}
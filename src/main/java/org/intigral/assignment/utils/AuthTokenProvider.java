@@ -0,0 +1,160 @@
+package org.intigral.assignment.utils;
+
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonParser;
+import org.intigral.assignment.client.ApiClient;
+import org.intigral.assignment.client.ApiClients;
+import org.intigral.assignment.client.ApiRequest;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Thread-safe provider of the {@code /auth} token of a booking API.
+ * The token is requested once with the configured credentials and cached for
+ * {@code authTokenTtlSeconds}; readers only touch an atomic reference, and a single thread
+ * refreshes the token when it has expired or was invalidated. Invalidation only discards the token
+ * that was rejected, so a thread holding a stale token cannot discard one another thread just refreshed.
+ */
+public class AuthTokenProvider {
+
+    /**
+     * Providers keyed by base URI.
+     */
+    private static final Map<String, AuthTokenProvider> providers = new ConcurrentHashMap<>();
+
+    /**
+     * Client bound to the API's base URI.
+     */
+    private final ApiClient client;
+
+    /**
+     * How long a token is reused.
+     */
+    private final long ttlNanos;
+
+    /**
+     * Held by the thread requesting a new token.
+     */
+    private final ReentrantLock refresh = new ReentrantLock();
+
+    /**
+     * The cached token, or {@code null} before the first request and after invalidation.
+     */
+    private final AtomicReference<Token> current = new AtomicReference<>();
+
+    /**
+     * Creates a provider for the given base URI.
+     *
+     * @param baseUri The base URI of the booking API.
+     * @param ttl     How long a token is reused.
+     */
+    public AuthTokenProvider(String baseUri, Duration ttl) {
+        this.client = ApiClients.forBaseUri(baseUri);
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Gets the shared provider for a base URI, using the configured token lifetime.
+     *
+     * @param baseUri The base URI of the booking API.
+     * @return the provider.
+     */
+    public static AuthTokenProvider forBaseUri(String baseUri) {
+        return providers.computeIfAbsent(baseUri,
+                uri -> new AuthTokenProvider(uri, Duration.ofSeconds(ConfigManager.getLong("authTokenTtlSeconds"))));
+    }
+
+    /**
+     * Gets a valid token, requesting a new one if none is cached or the cached one has expired.
+     *
+     * @return the token.
+     * @throws IllegalStateException if no token is issued.
+     */
+    public String token() {
+        Token token = current.get();
+        if (token != null && !token.isExpired()) {
+            return token.value();
+        }
+        // A lock rather than synchronized, so virtual threads waiting on the refresh do not pin their carrier
+        refresh.lock();
+        try {
+            token = current.get();
+            if (token == null || token.isExpired()) {
+                token = new Token(requestToken(), System.nanoTime() + ttlNanos);
+                current.set(token);
+            }
+            return token.value();
+        } finally {
+            refresh.unlock();
+        }
+    }
+
+    /**
+     * Discards the cached token after the API rejected it, so the next call requests a new one.
+     * Does nothing if the cached token is no longer the rejected one, e.g. because another thread already refreshed it.
+     *
+     * @param rejected The token the API rejected.
+     */
+    public void invalidate(String rejected) {
+        Token token = current.get();
+        if (token != null && token.value().equals(rejected)) {
+            current.compareAndSet(token, null);
+        }
+    }
+
+    /**
+     * Requests a token with the configured credentials.
+     *
+     * @return the token.
+     * @throws IllegalStateException if no token is issued.
+     */
+    private String requestToken() {
+        Config config = ConfigManager.config();
+        byte[] credentials = new JsonByteWriter(64).beginObject()
+                .name("username").value(config.authUsername())
+                .name("password").value(config.authPassword())
+                .endObject().toByteArray();
+        String body = client.given()
+                .contentType(ApiRequest.JSON)
+                .body(credentials)
+                .post(config.authEndpoint())
+                .asString();
+        String issued = null;
+        try {
+            JsonElement json = JsonParser.parseString(body);
+            if (json.isJsonObject()) {
+                JsonObject object = json.getAsJsonObject();
+                issued = object.has("token") && !object.get("token").isJsonNull() ? object.get("token").getAsString() : null;
+            }
+        } catch (RuntimeException e) {
+            // Not JSON, e.g. an error page; treated as no token
+        }
+        if (issued == null) {
+            throw new IllegalStateException("Authentication failed; no token issued.");
+        }
+        return issued;
+    }
+
+    /**
+     * A token and the time it stops being reused.
+     *
+     * @param value          The token.
+     * @param expiresAtNanos Expiry in {@link System#nanoTime()} units.
+     */
+    private record Token(String value, long expiresAtNanos) {
+
+        /**
+         * Checks whether the token should no longer be reused.
+         *
+         * @return {@code true} once the expiry has passed.
+         */
+        boolean isExpired() {
+            return System.nanoTime() - expiresAtNanos >= 0;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.intigral.assignment.utils;
+
+import org.intigral.assignment.client.ApiClient;
+import org.intigral.assignment.client.ApiClients;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Registry of bookings created during the run, per base URI, so they can be deleted at the end
+ * instead of accumulating on a shared environment. Bookings are registered and unregistered by
+ * {@link org.intigral.assignment.filters.BookingRegistryFilter} as create and delete calls succeed.
+ */
+public class BookingRegistry {
+
+    /**
+     * IDs of live bookings keyed by base URI.
+     */
+    private static final Map<String, Set<Integer>> bookings = new ConcurrentHashMap<>();
+
+    /**
+     * Outcome of a cleanup.
+     *
+     * @param deleted Bookings deleted, or already gone.
+     * @param failed  Bookings that could not be deleted.
+     */
+    public record Cleanup(int deleted, int failed) {
+    }
+
+    /**
+     * Registers a created booking.
+     *
+     * @param baseUri The base URI of the API that created it.
+     * @param id      The booking ID.
+     */
+    public static void register(String baseUri, int id) {
+        bookings.computeIfAbsent(baseUri, uri -> ConcurrentHashMap.newKeySet()).add(id);
+    }
+
+    /**
+     * Forgets a deleted booking.
+     *
+     * @param baseUri The base URI of the API that deleted it.
+     * @param id      The booking ID.
+     */
+    public static void unregister(String baseUri, int id) {
+        Set<Integer> ids = bookings.get(baseUri);
+        if (ids != null) {
+            ids.remove(id);
+        }
+    }
+
+    /**
+     * Gets the number of registered bookings.
+     *
+     * @return the count over all base URIs.
+     */
+    public static int size() {
+        return bookings.values().stream().mapToInt(Set::size).sum();
+    }
+
+    /**
+     * Deletes every registered booking concurrently, with at most {@code parallelism} requests in
+     * flight. A rejected token is refreshed once per booking.
+     *
+     * @param parallelism Maximum number of concurrent delete requests.
+     * @return the outcome.
+     */
+    public static Cleanup deleteAll(int parallelism) {
+        AtomicInteger deleted = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        Semaphore inFlight = new Semaphore(parallelism);
+        String endpoint = ConfigManager.config().bookingEndpoint();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            bookings.forEach((baseUri, ids) -> {
+                ApiClient client = ApiClients.forBaseUri(baseUri);
+                AuthTokenProvider tokens = AuthTokenProvider.forBaseUri(baseUri);
+                for (Integer id : List.copyOf(ids)) {
+                    inFlight.acquireUninterruptibly();
+                    executor.execute(() -> {
+                        try {
+                            String token = tokens.token();
+                            int status = delete(client, endpoint + "/" + id, token);
+                            if (status == 403) {
+                                tokens.invalidate(token);
+                                status = delete(client, endpoint + "/" + id, tokens.token());
+                            }
+                            // 404/405: already deleted elsewhere
+                            if (status == 201 || status == 200 || status == 404 || status == 405) {
+                                ids.remove(id);
+                                deleted.incrementAndGet();
+                            } else {
+                                failed.incrementAndGet();
+                            }
+                        } catch (RuntimeException | AssertionError e) {
+                            failed.incrementAndGet();
+                        } finally {
+                            inFlight.release();
+                        }
+                    });
+                }
+            });
+        }
+        return new Cleanup(deleted.get(), failed.get());
+    }
+
+    /**
+     * Sends one delete request.
+     *
+     * @param client The API client.
+     * @param path   The booking path.
+     * @param token  The auth token.
+     * @return the response status.
+     */
+    private static int delete(ApiClient client, String path, String token) {
+        return client.given().cookie("token", token).delete(path).statusCode();
+    }
+}
@@ -0,0 +1,45 @@
+package org.intigral.assignment.utils;
+
+/**
+ * Immutable, typed snapshot of the settings read on hot paths and of the concurrency limits, parsed
+ * once by {@link ConfigManager}. Settings read once at startup by the class that uses them are looked
+ * up by key instead.
+ *
+ * @param baseUrl                  Base URL of the booking API.
+ * @param bookingEndpoint          Path of the booking resource.
+ * @param authEndpoint             Path of the token endpoint.
+ * @param authUsername             User name for token requests.
+ * @param authPassword             Password for token requests.
+ * @param stubServerEnabled        Whether requests go to the in-process stub server.
+ * @param stubServerPort           Port of the stub server, {@code 0} for any free port.
+ * @param httpMaxTotal             Maximum pooled connections overall.
+ * @param httpMaxPerRoute          Maximum pooled connections per route.
+ * @param httpKeepAliveMillis      Keep-alive time of pooled connections without a server hint.
+ * @param httpIdleEvictMillis      Idle time after which pooled connections are closed; {@code 0} or less disables eviction.
+ * @param httpConnectTimeoutMillis Connect timeout.
+ * @param httpReadTimeoutMillis    Socket read timeout.
+ * @param lifecycleMaxInFlight     Maximum booking lifecycles in flight.
+ * @param cleanupParallelism       Maximum concurrent delete requests of the booking cleanup.
+ * @param bookingPoolSize          Number of bookings provisioned up front for tests.
+ * @param shardCount               Number of shards the suite is split into.
+ * @param shardIndex               Shard run by this JVM.
+ */
+public record Config(String baseUrl,
+                     String bookingEndpoint,
+                     String authEndpoint,
+                     String authUsername,
+                     String authPassword,
+                     boolean stubServerEnabled,
+                     int stubServerPort,
+                     int httpMaxTotal,
+                     int httpMaxPerRoute,
+                     long httpKeepAliveMillis,
+                     long httpIdleEvictMillis,
+                     int httpConnectTimeoutMillis,
+                     int httpReadTimeoutMillis,
+                     int lifecycleMaxInFlight,
+                     int cleanupParallelism,
+                     int bookingPoolSize,
+                     int shardCount,
+                     int shardIndex) {
+}
@@ -1,36 +1,185 @@
 package org.intigral.assignment.utils;
 
-import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Properties;
 
 /**
  * Utility class to manage application configuration by reading values from a properties file.
+ * {@code config.properties} is loaded once from the classpath and each of its keys can be overridden
+ * by an environment variable (the key in upper snake case, e.g. {@code HTTP_MAX_TOTAL} for
+ * {@code httpMaxTotal}) and then by a system property of the same name. The merged values are frozen
+ * into an immutable map and a typed {@link Config}, so lookups never lock.
  */
 public class ConfigManager {
 
     /**
-     * Properties object to hold configuration key-value pairs.
+     * Classpath resource holding the default configuration.
      */
-    private static Properties properties;
+    private static final String RESOURCE = "/config.properties";
 
-    // Static block to initialize and load the properties file at class loading time
+    /**
+     * Merged configuration key-value pairs.
+     */
+    private static final Map<String, String> values;
+
+    /**
+     * Typed snapshot of the frequently used settings.
+     */
+    private static final Config config;
+
+    // Static block to load and merge the configuration layers at class loading time
     static {
-        properties = new Properties();
-        try (FileInputStream fis = new FileInputStream("src/main/resources/config.properties")) {
-            properties.load(fis);
+        Properties properties = new Properties();
+        try (InputStream in = ConfigManager.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Configuration file not found on classpath: " + RESOURCE);
+            }
+            properties.load(in);
         } catch (IOException e) {
             throw new RuntimeException("Failed to load configuration file.", e);
         }
+
+        Map<String, String> merged = new HashMap<>();
+        for (String key : properties.stringPropertyNames()) {
+            String value = properties.getProperty(key);
+            String env = System.getenv(environmentName(key));
+            if (env != null) {
+                value = env;
+            }
+            merged.put(key, System.getProperty(key, value));
+        }
+        values = Map.copyOf(merged);
+
+        config = new Config(
+                get("baseUrl"),
+                get("addBookingEndpoint"),
+                get("authEndpoint"),
+                get("authUsername"),
+                get("authPassword"),
+                getBoolean("stubServerEnabled"),
+                getInt("stubServerPort"),
+                getInt("httpMaxTotal"),
+                getInt("httpMaxPerRoute"),
+                getLong("httpKeepAliveMillis"),
+                getLong("httpIdleEvictMillis"),
+                getInt("httpConnectTimeoutMillis"),
+                getInt("httpReadTimeoutMillis"),
+                getInt("lifecycleMaxInFlight"),
+                getInt("cleanupParallelism"),
+                getInt("bookingPoolSize"),
+                getInt("shardCount"),
+                getInt("shardIndex"));
+    }
+
+    /**
+     * Gets the typed snapshot of the frequently used settings.
+     *
+     * @return the configuration snapshot.
+     */
+    public static Config config() {
+        return config;
     }
 
     /**
-     * Retrieves the value of a given key from the loaded properties file.
+     * Retrieves the value of a given key.
      *
      * @param key The key whose value needs to be retrieved.
      * @return The value associated with the key, or {@code null} if the key is not found.
      */
     public static String get(String key) {
-        return properties.getProperty(key);
+        return values.get(key);
+    }
+
+    /**
+     * Retrieves the value of a given key as an {@code int}.
+     *
+     * @param key The key whose value needs to be retrieved.
+     * @return The parsed value.
+     * @throws IllegalStateException if the key is missing or not a number.
+     */
+    public static int getInt(String key) {
+        try {
+            return Integer.parseInt(require(key).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Configuration key " + key + " is not an integer: " + get(key), e);
+        }
+    }
+
+    /**
+     * Retrieves the value of a given key as a {@code long}.
+     *
+     * @param key The key whose value needs to be retrieved.
+     * @return The parsed value.
+     * @throws IllegalStateException if the key is missing or not a number.
+     */
+    public static long getLong(String key) {
+        try {
+            return Long.parseLong(require(key).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Configuration key " + key + " is not an integer: " + get(key), e);
+        }
+    }
+
+    /**
+     * Retrieves the value of a given key as a {@code double}.
+     *
+     * @param key The key whose value needs to be retrieved.
+     * @return The value of the key.
+     * @throws IllegalStateException if the key is missing or not a number.
+     */
+    public static double getDouble(String key) {
+        try {
+            return Double.parseDouble(require(key).trim());
+        } catch (NumberFormatException e) {
+            throw new IllegalStateException("Configuration key " + key + " is not a number: " + get(key), e);
+        }
+    }
+
+    /**
+     * Retrieves the value of a given key as a {@code boolean}.
+     *
+     * @param key The key whose value needs to be retrieved.
+     * @return {@code true} if the value is {@code true}, ignoring case.
+     * @throws IllegalStateException if the key is missing.
+     */
+    public static boolean getBoolean(String key) {
+        return Boolean.parseBoolean(require(key).trim());
+    }
+
+    /**
+     * Retrieves the value of a key that must be configured.
+     *
+     * @param key The key whose value needs to be retrieved.
+     * @return The value.
+     * @throws IllegalStateException if the key is missing.
+     */
+    private static String require(String key) {
+        String value = values.get(key);
+        if (value == null) {
+            throw new IllegalStateException("Missing configuration key: " + key);
+        }
+        return value;
+    }
+
+    /**
+     * Converts a camel-case key to its environment variable name, e.g. {@code httpMaxTotal} to
+     * {@code HTTP_MAX_TOTAL}.
+     *
+     * @param key The configuration key.
+     * @return the environment variable name.
+     */
+    private static String environmentName(String key) {
+        StringBuilder name = new StringBuilder(key.length() + 4);
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (Character.isUpperCase(c) && i > 0) {
+                name.append('_');
+            }
+            name.append(c == '.' || c == '-' ? '_' : Character.toUpperCase(c));
+        }
+        return name.toString();
     }
 }
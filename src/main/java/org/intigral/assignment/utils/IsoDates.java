@@ -0,0 +1,153 @@
+package org.intigral.assignment.utils;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Conversion between ISO {@code yyyy-MM-dd} dates and epoch days (days since 1970-01-01).
+ * Parsing does not allocate, for hot paths that validate large numbers of dates.
+ */
+public final class IsoDates {
+
+    /**
+     * Returned by {@link #parseEpochDay(CharSequence)} when the input is not a valid date.
+     */
+    public static final int INVALID = Integer.MIN_VALUE;
+
+    /**
+     * Length of a formatted date.
+     */
+    public static final int FORMATTED_LENGTH = 10;
+
+    /**
+     * Days from 0000-03-01 to 1970-01-01 in the proleptic Gregorian calendar.
+     */
+    private static final int DAYS_0000_TO_1970 = 719_468;
+
+    private IsoDates() {
+    }
+
+    /**
+     * Parses a strict {@code yyyy-MM-dd} date with a year from 0001 to 9999.
+     *
+     * @param date The text to parse, possibly {@code null}.
+     * @return the epoch day, or {@link #INVALID} if the text is not a valid date.
+     */
+    public static int parseEpochDay(CharSequence date) {
+        if (date == null || date.length() != 10 || date.charAt(4) != '-' || date.charAt(7) != '-') {
+            return INVALID;
+        }
+        int year = digits(date, 0, 4);
+        int month = digits(date, 5, 7);
+        int day = digits(date, 8, 10);
+        if (year < 1 || month < 1 || month > 12 || day < 1 || day > daysInMonth(year, month)) {
+            return INVALID;
+        }
+        return toEpochDay(year, month, day);
+    }
+
+    /**
+     * Checks whether text is a valid {@code yyyy-MM-dd} date.
+     *
+     * @param date The text to check, possibly {@code null}.
+     * @return {@code true} if the text is a valid date.
+     */
+    public static boolean isValid(CharSequence date) {
+        return parseEpochDay(date) != INVALID;
+    }
+
+    /**
+     * Formats an epoch day as {@code yyyy-MM-dd}.
+     *
+     * @param epochDay The epoch day, for a year from 0001 to 9999.
+     * @return the formatted date.
+     */
+    public static String format(int epochDay) {
+        byte[] out = new byte[FORMATTED_LENGTH];
+        formatTo(epochDay, out, 0);
+        return new String(out, StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * Writes an epoch day as {@code yyyy-MM-dd} ASCII bytes into an array.
+     *
+     * @param epochDay The epoch day, for a year from 0001 to 9999.
+     * @param out      The target array, with room for {@link #FORMATTED_LENGTH} bytes.
+     * @param offset   The position of the first byte.
+     */
+    public static void formatTo(int epochDay, byte[] out, int offset) {
+        // Civil-from-days over 400-year eras starting on March 1st
+        int z = epochDay + DAYS_0000_TO_1970;
+        int era = Math.floorDiv(z, 146_097);
+        int dayOfEra = z - era * 146_097;
+        int yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        int shiftedMonth = (5 * dayOfYear + 2) / 153;
+        int day = dayOfYear - (153 * shiftedMonth + 2) / 5 + 1;
+        int month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        int year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+
+        out[offset] = (byte) ('0' + year / 1000);
+        out[offset + 1] = (byte) ('0' + year / 100 % 10);
+        out[offset + 2] = (byte) ('0' + year / 10 % 10);
+        out[offset + 3] = (byte) ('0' + year % 10);
+        out[offset + 4] = '-';
+        out[offset + 5] = (byte) ('0' + month / 10);
+        out[offset + 6] = (byte) ('0' + month % 10);
+        out[offset + 7] = '-';
+        out[offset + 8] = (byte) ('0' + day / 10);
+        out[offset + 9] = (byte) ('0' + day % 10);
+    }
+
+    /**
+     * Converts a validated date to an epoch day.
+     *
+     * @param year  The year.
+     * @param month The month, 1 to 12.
+     * @param day   The day of month.
+     * @return the epoch day.
+     */
+    private static int toEpochDay(int year, int month, int day) {
+        // Days-from-civil over 400-year eras starting on March 1st
+        int y = month <= 2 ? year - 1 : year;
+        int era = Math.floorDiv(y, 400);
+        int yearOfEra = y - era * 400;
+        int dayOfYear = (153 * (month > 2 ? month - 3 : month + 9) + 2) / 5 + day - 1;
+        int dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return era * 146_097 + dayOfEra - DAYS_0000_TO_1970;
+    }
+
+    /**
+     * Gets the number of days in a month.
+     *
+     * @param year  The year.
+     * @param month The month, 1 to 12.
+     * @return the number of days.
+     */
+    private static int daysInMonth(int year, int month) {
+        return switch (month) {
+            case 2 -> (year % 4 == 0 && (year % 100 != 0 || year % 400 == 0)) ? 29 : 28;
+            case 4, 6, 9, 11 -> 30;
+            default -> 31;
+        };
+    }
+
+    /**
+     * Parses a run of ASCII digits.
+     *
+     * @param text  The text.
+     * @param start The first index, inclusive.
+     * @param end   The last index, exclusive.
+     * @return the value, or {@code -1} if a character is not a digit.
+     */
+    private static int digits(CharSequence text, int start, int end) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,343 @@
+package org.intigral.assignment.utils;
+
+import java.util.Arrays;
+
+/**
+ * Minimal streaming JSON writer encoding UTF-8 straight into a growable, reusable byte buffer.
+ * It writes compact JSON without reflection or intermediate strings and is meant to be reused
+ * through {@link #reset()}; instances are not thread-safe.
+ */
+public final class JsonByteWriter {
+
+    /**
+     * Hex digits for {@code \}{@code u} escapes.
+     */
+    private static final byte[] HEX = "0123456789abcdef".getBytes();
+
+    /**
+     * Deepest supported nesting.
+     */
+    private static final int MAX_DEPTH = 63;
+
+    /**
+     * The output buffer.
+     */
+    private byte[] buffer;
+
+    /**
+     * Number of bytes written.
+     */
+    private int size;
+
+    /**
+     * Current nesting depth.
+     */
+    private int depth;
+
+    /**
+     * Bit per depth set once a value was written at that depth, so the next one needs a comma.
+     */
+    private long hasValue;
+
+    /**
+     * Set after a name, so the following value needs no comma.
+     */
+    private boolean afterName;
+
+    /**
+     * Creates a writer with the given initial capacity.
+     *
+     * @param capacity The initial buffer size in bytes.
+     */
+    public JsonByteWriter(int capacity) {
+        this.buffer = new byte[Math.max(16, capacity)];
+    }
+
+    /**
+     * Discards the written bytes, keeping the buffer.
+     *
+     * @return this writer.
+     */
+    public JsonByteWriter reset() {
+        size = 0;
+        depth = 0;
+        hasValue = 0;
+        afterName = false;
+        return this;
+    }
+
+    /**
+     * Starts an object.
+     *
+     * @return this writer.
+     */
+    public JsonByteWriter beginObject() {
+        separator();
+        if (depth == MAX_DEPTH) {
+            throw new IllegalStateException("JSON nested too deeply");
+        }
+        put((byte) '{');
+        depth++;
+        hasValue &= ~(1L << depth);
+        return this;
+    }
+
+    /**
+     * Ends the current object.
+     *
+     * @return this writer.
+     */
+    public JsonByteWriter endObject() {
+        depth--;
+        put((byte) '}');
+        return this;
+    }
+
+    /**
+     * Writes an object member name.
+     *
+     * @param name The name.
+     * @return this writer.
+     */
+    public JsonByteWriter name(String name) {
+        separator();
+        string(name);
+        put((byte) ':');
+        afterName = true;
+        return this;
+    }
+
+    /**
+     * Writes a string value, or {@code null}.
+     *
+     * @param value The value.
+     * @return this writer.
+     */
+    public JsonByteWriter value(String value) {
+        separator();
+        if (value == null) {
+            ascii("null");
+        } else {
+            string(value);
+        }
+        return this;
+    }
+
+    /**
+     * Writes a boolean value.
+     *
+     * @param value The value.
+     * @return this writer.
+     */
+    public JsonByteWriter value(boolean value) {
+        separator();
+        ascii(value ? "true" : "false");
+        return this;
+    }
+
+    /**
+     * Writes a number in the same form as {@link Double#toString(double)}.
+     *
+     * @param value The value, which must be finite.
+     * @return this writer.
+     */
+    public JsonByteWriter value(double value) {
+        if (!Double.isFinite(value)) {
+            throw new IllegalArgumentException("JSON numbers must be finite: " + value);
+        }
+        separator();
+        long integral = (long) value;
+        if (integral == value && Math.abs(value) < 1e7 && !(value == 0 && 1 / value < 0)) {
+            // Whole numbers below 10^7 print as "n.0"; write them without a temporary string
+            digits(integral);
+            put((byte) '.');
+            put((byte) '0');
+        } else {
+            ascii(Double.toString(value));
+        }
+        return this;
+    }
+
+    /**
+     * Writes an epoch day as a quoted {@code yyyy-MM-dd} string, without a temporary string.
+     *
+     * @param epochDay The epoch day, for a year from 0001 to 9999.
+     * @return this writer.
+     */
+    public JsonByteWriter isoDate(int epochDay) {
+        separator();
+        ensure(IsoDates.FORMATTED_LENGTH + 2);
+        buffer[size++] = '"';
+        IsoDates.formatTo(epochDay, buffer, size);
+        size += IsoDates.FORMATTED_LENGTH;
+        buffer[size++] = '"';
+        return this;
+    }
+
+    /**
+     * Writes {@code null}.
+     *
+     * @return this writer.
+     */
+    public JsonByteWriter nullValue() {
+        separator();
+        ascii("null");
+        return this;
+    }
+
+    /**
+     * Gets the number of bytes written.
+     *
+     * @return the size.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Copies the written bytes.
+     *
+     * @return a new array of exactly {@link #size()} bytes.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(buffer, size);
+    }
+
+    /**
+     * Writes the comma needed before a value or name, if any.
+     */
+    private void separator() {
+        if (afterName) {
+            afterName = false;
+            return;
+        }
+        long bit = 1L << depth;
+        if ((hasValue & bit) != 0) {
+            put((byte) ',');
+        }
+        hasValue |= bit;
+    }
+
+    /**
+     * Writes a quoted, escaped UTF-8 string.
+     *
+     * @param value The string.
+     */
+    private void string(String value) {
+        ensure(value.length() * 3 + 2);
+        put((byte) '"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                if (c == '"' || c == '\\') {
+                    put((byte) '\\');
+                    put((byte) c);
+                } else if (c < 0x20) {
+                    escapeControl(c);
+                } else {
+                    put((byte) c);
+                }
+            } else if (c < 0x800) {
+                put((byte) (0xc0 | c >> 6));
+                put((byte) (0x80 | c & 0x3f));
+            } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                    && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                put((byte) (0xf0 | codePoint >> 18));
+                put((byte) (0x80 | codePoint >> 12 & 0x3f));
+                put((byte) (0x80 | codePoint >> 6 & 0x3f));
+                put((byte) (0x80 | codePoint & 0x3f));
+            } else if (Character.isSurrogate(c)) {
+                // Unpaired surrogate, replaced like String#getBytes does
+                put((byte) '?');
+            } else {
+                put((byte) (0xe0 | c >> 12));
+                put((byte) (0x80 | c >> 6 & 0x3f));
+                put((byte) (0x80 | c & 0x3f));
+            }
+        }
+        put((byte) '"');
+    }
+
+    /**
+     * Writes the escape of a control character.
+     *
+     * @param c The character, below 0x20.
+     */
+    private void escapeControl(char c) {
+        ensure(6);
+        put((byte) '\\');
+        switch (c) {
+            case '\n' -> put((byte) 'n');
+            case '\r' -> put((byte) 'r');
+            case '\t' -> put((byte) 't');
+            case '\b' -> put((byte) 'b');
+            case '\f' -> put((byte) 'f');
+            default -> {
+                put((byte) 'u');
+                put((byte) '0');
+                put((byte) '0');
+                put(HEX[c >> 4]);
+                put(HEX[c & 0xf]);
+            }
+        }
+    }
+
+    /**
+     * Writes the decimal digits of a whole number.
+     *
+     * @param value The number.
+     */
+    private void digits(long value) {
+        if (value < 0) {
+            put((byte) '-');
+            value = -value;
+        }
+        ensure(20);
+        int start = size;
+        do {
+            buffer[size++] = (byte) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        for (int i = start, j = size - 1; i < j; i++, j--) {
+            byte swap = buffer[i];
+            buffer[i] = buffer[j];
+            buffer[j] = swap;
+        }
+    }
+
+    /**
+     * Writes ASCII text as is.
+     *
+     * @param text The text.
+     */
+    private void ascii(String text) {
+        ensure(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            buffer[size++] = (byte) text.charAt(i);
+        }
+    }
+
+    /**
+     * Writes one byte.
+     *
+     * @param b The byte.
+     */
+    private void put(byte b) {
+        if (size == buffer.length) {
+            ensure(1);
+        }
+        buffer[size++] = b;
+    }
+
+    /**
+     * Grows the buffer to fit the given number of additional bytes.
+     *
+     * @param additional The number of bytes about to be written.
+     */
+    private void ensure(int additional) {
+        if (size + additional > buffer.length) {
+            buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, size + additional));
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package org.intigral.assignment.utils;
+
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.specification.RequestSpecification;
+import org.intigral.assignment.filters.BookingRegistryFilter;
+import org.intigral.assignment.filters.CassetteFilter;
+import org.intigral.assignment.filters.ExchangeCaptureFilter;
+import org.intigral.assignment.filters.JfrEventFilter;
+import org.intigral.assignment.filters.LatencyFilter;
+import org.intigral.assignment.filters.RateLimitFilter;
+import org.apache.http.HeaderElement;
+import org.apache.http.HttpResponse;
+import org.apache.http.HttpResponseInterceptor;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.entity.BufferedHttpEntity;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.message.BasicHeaderElementIterator;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+import org.apache.http.protocol.HTTP;
+
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Central factory for RestAssured request specifications.
+ * Every specification shares one pooled, keep-alive connection manager, so repeated calls to the
+ * same host reuse open TCP/TLS connections instead of performing a new handshake per request.
+ * Pool size, keep-alive, idle eviction and timeouts come from {@code config.properties}.
+ */
+public class RequestSpecFactory {
+
+    /**
+     * Connection pool shared by all HTTP clients RestAssured creates.
+     */
+    @SuppressWarnings("deprecation") // RestAssured needs the legacy HttpClient 4 API, see createConfig()
+    private static final PoolingClientConnectionManager connectionManager = new PoolingClientConnectionManager();
+
+    /**
+     * Filter capturing recent exchanges per thread for failure diagnostics.
+     */
+    private static final ExchangeCaptureFilter captureFilter = new ExchangeCaptureFilter();
+
+    /**
+     * Filter recording per-endpoint latencies of every request.
+     */
+    private static final LatencyFilter latencyFilter = new LatencyFilter();
+
+    /**
+     * Filter emitting a Flight Recorder event per request.
+     */
+    private static final JfrEventFilter jfrFilter = new JfrEventFilter();
+
+    /**
+     * Filter registering created bookings for cleanup.
+     */
+    private static final BookingRegistryFilter registryFilter = new BookingRegistryFilter();
+
+    /**
+     * Filter recording or replaying exchanges, {@code null} when {@code cassetteMode} is {@code off}.
+     */
+    private static final CassetteFilter cassetteFilter = cassetteFilter();
+
+    /**
+     * Filter pacing all requests through the shared adaptive rate limiter, {@code null} when disabled
+     * or when replaying from a cassette.
+     */
+    private static final RateLimitFilter rateLimitFilter =
+            AdaptiveRateLimiter.shared() != null ? new RateLimitFilter(AdaptiveRateLimiter.shared()) : null;
+
+    /**
+     * RestAssured configuration whose HTTP clients draw from {@link #connectionManager}.
+     */
+    private static final RestAssuredConfig config = createConfig();
+
+    static {
+        startIdleEviction(ConfigManager.config().httpIdleEvictMillis());
+    }
+
+    /**
+     * Creates a request specification for the given base URI using the pooled client configuration.
+     * Exchanges are captured by {@link ExchangeCaptureFilter} rather than logged, and latencies
+     * are recorded per endpoint by {@link LatencyFilter}. Created bookings are registered for
+     * cleanup by {@link BookingRegistryFilter}. With {@code cassetteMode} set, exchanges are
+     * recorded or replayed by {@link CassetteFilter}.
+     *
+     * @param baseUri The base URI requests are sent to.
+     * @return a new request specification.
+     */
+    public static RequestSpecification newSpec(String baseUri) {
+        RequestSpecBuilder builder = new RequestSpecBuilder()
+                .setBaseUri(baseUri)
+                .setConfig(config);
+        // Added first so waiting for a permit is not measured as latency
+        if (rateLimitFilter != null) {
+            builder.addFilter(rateLimitFilter);
+        }
+        builder.addFilter(captureFilter)
+                .addFilter(latencyFilter)
+                .addFilter(jfrFilter)
+                .addFilter(registryFilter);
+        // Added last so it sits next to the HTTP client and can answer instead of it
+        if (cassetteFilter != null) {
+            builder.addFilter(cassetteFilter);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Gets the RestAssured configuration backed by the shared connection pool.
+     *
+     * @return the pooled RestAssured configuration.
+     */
+    public static RestAssuredConfig config() {
+        return config;
+    }
+
+    /**
+     * Gets the shared connection manager, e.g. to inspect pool statistics.
+     *
+     * @return the shared connection manager.
+     */
+    @SuppressWarnings("deprecation")
+    public static PoolingClientConnectionManager connectionManager() {
+        return connectionManager;
+    }
+
+    /**
+     * Creates the RestAssured configuration around the shared pool.
+     * RestAssured's {@code HTTPBuilder} only accepts an {@code AbstractHttpClient}, so the deprecated
+     * {@code DefaultHttpClient} and {@code HttpParams} API cannot be replaced while it is in use.
+     *
+     * @return the pooled RestAssured configuration.
+     */
+    @SuppressWarnings("deprecation")
+    private static RestAssuredConfig createConfig() {
+        connectionManager.setMaxTotal(ConfigManager.config().httpMaxTotal());
+        connectionManager.setDefaultMaxPerRoute(ConfigManager.config().httpMaxPerRoute());
+
+        long keepAliveMillis = ConfigManager.config().httpKeepAliveMillis();
+        int connectTimeoutMillis = ConfigManager.config().httpConnectTimeoutMillis();
+        int readTimeoutMillis = ConfigManager.config().httpReadTimeoutMillis();
+        ConnectionKeepAliveStrategy keepAlive = (response, context) -> keepAliveMillis(response, keepAliveMillis);
+        // RestAssured reads bodies lazily and never closes them when only the status is checked,
+        // which would keep the connection leased; buffering up front returns it to the pool at once
+        HttpResponseInterceptor bufferEntity = (response, context) -> {
+            if (response.getEntity() != null) {
+                response.setEntity(new BufferedHttpEntity(response.getEntity()));
+            }
+        };
+
+        // RestAssured asks for a client per request; creating one around the shared pool is cheap
+        return RestAssuredConfig.config().httpClient(HttpClientConfig.httpClientConfig().httpClientFactory(() -> {
+            HttpParams params = new BasicHttpParams();
+            HttpConnectionParams.setConnectionTimeout(params, connectTimeoutMillis);
+            HttpConnectionParams.setSoTimeout(params, readTimeoutMillis);
+            HttpConnectionParams.setTcpNoDelay(params, true);
+            DefaultHttpClient client = new DefaultHttpClient(connectionManager, params);
+            client.setKeepAliveStrategy(keepAlive);
+            client.addResponseInterceptor(bufferEntity);
+            return client;
+        }));
+    }
+
+    /**
+     * Closes expired and idle pooled connections in the background.
+     *
+     * @param idleEvictMillis Idle time after which connections are closed; {@code 0} or less disables eviction.
+     */
+    private static void startIdleEviction(long idleEvictMillis) {
+        if (idleEvictMillis <= 0) {
+            return;
+        }
+        ScheduledExecutorService evictor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "http-idle-evictor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        evictor.scheduleWithFixedDelay(() -> {
+            connectionManager.closeExpiredConnections();
+            connectionManager.closeIdleConnections(idleEvictMillis, TimeUnit.MILLISECONDS);
+        }, idleEvictMillis, idleEvictMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Creates the cassette filter from configuration.
+     *
+     * @return the filter, or {@code null} when {@code cassetteMode} is {@code off}.
+     */
+    private static CassetteFilter cassetteFilter() {
+        CassetteFilter.Mode mode = CassetteFilter.Mode.valueOf(ConfigManager.get("cassetteMode").trim().toUpperCase(Locale.ROOT));
+        if (mode == CassetteFilter.Mode.OFF) {
+            return null;
+        }
+        return new CassetteFilter(mode, Path.of(ConfigManager.get("cassettePath")), ConfigManager.getBoolean("cassetteStrict"));
+    }
+
+    /**
+     * Determines how long a connection may stay idle in the pool, honouring a
+     * {@code Keep-Alive: timeout=n} response header when it is shorter than the configured limit.
+     *
+     * @param response         The HTTP response.
+     * @param defaultKeepAlive The configured keep-alive in milliseconds.
+     * @return the keep-alive duration in milliseconds.
+     */
+    private static long keepAliveMillis(HttpResponse response, long defaultKeepAlive) {
+        BasicHeaderElementIterator elements = new BasicHeaderElementIterator(response.headerIterator(HTTP.CONN_KEEP_ALIVE));
+        while (elements.hasNext()) {
+            HeaderElement element = elements.nextElement();
+            if ("timeout".equalsIgnoreCase(element.getName()) && element.getValue() != null) {
+                try {
+                    return Math.min(defaultKeepAlive, Long.parseLong(element.getValue()) * 1000);
+                } catch (NumberFormatException ignored) {
+                    // Fall back to the configured keep-alive
+                }
+            }
+        }
+        return defaultKeepAlive;
+    }
+}
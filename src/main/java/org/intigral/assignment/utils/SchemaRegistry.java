@@ -0,0 +1,164 @@
+package org.intigral.assignment.utils;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.github.fge.jackson.JacksonUtils;
+import com.github.fge.jackson.JsonLoader;
+import com.github.fge.jsonschema.core.exceptions.ProcessingException;
+import com.github.fge.jsonschema.core.report.ProcessingReport;
+import com.github.fge.jsonschema.main.JsonSchema;
+import com.github.fge.jsonschema.main.JsonSchemaFactory;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeDiagnosingMatcher;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe registry of compiled JSON schemas loaded from the classpath.
+ * Each schema is loaded and compiled once, at startup for the names listed under
+ * {@code jsonSchemas} in {@code config.properties} and on first use for any other name,
+ * and response bodies are validated straight from their bytes.
+ */
+public class SchemaRegistry {
+
+    /**
+     * Factory used to compile schemas.
+     */
+    private static final JsonSchemaFactory factory = JsonSchemaFactory.byDefault();
+
+    /**
+     * Reader for response bodies, configured like the schema loader.
+     */
+    private static final ObjectReader reader = JacksonUtils.getReader();
+
+    /**
+     * Compiled schemas keyed by classpath resource name.
+     */
+    private static final Map<String, JsonSchema> schemas = new ConcurrentHashMap<>();
+
+    /**
+     * Reusable matchers keyed by classpath resource name.
+     */
+    private static final Map<String, Matcher<Object>> matchers = new ConcurrentHashMap<>();
+
+    static {
+        for (String name : ConfigManager.get("jsonSchemas").split(",")) {
+            schema(name.trim());
+        }
+    }
+
+    /**
+     * Gets the compiled schema for a classpath resource, compiling it on first use.
+     *
+     * @param name The classpath resource name, e.g. {@code booking_schema.json}.
+     * @return the compiled schema.
+     * @throws IllegalArgumentException if the schema cannot be loaded or compiled.
+     */
+    public static JsonSchema schema(String name) {
+        return schemas.computeIfAbsent(name, key -> {
+            try {
+                return factory.getJsonSchema(JsonLoader.fromResource("/" + key));
+            } catch (IOException | ProcessingException e) {
+                throw new IllegalArgumentException("Failed to load JSON schema: " + key, e);
+            }
+        });
+    }
+
+    /**
+     * Validates a JSON body against a schema.
+     *
+     * @param name The classpath resource name of the schema.
+     * @param body The raw JSON body.
+     * @return the validation report.
+     */
+    public static ProcessingReport validate(String name, byte[] body) {
+        try {
+            return schema(name).validateUnchecked(reader.readTree(body));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Body is not valid JSON", e);
+        }
+    }
+
+    /**
+     * Validates an already parsed JSON body against a schema.
+     *
+     * @param name The classpath resource name of the schema.
+     * @param json The parsed body.
+     * @return the validation report.
+     */
+    public static ProcessingReport validate(String name, JsonNode json) {
+        return schema(name).validateUnchecked(json);
+    }
+
+    /**
+     * Returns a reusable matcher validating a body against a schema. The matcher accepts an
+     * already parsed {@link JsonNode} (e.g. {@code BookingResponse.json()}), the raw body as a
+     * {@code byte[]} (e.g. {@code response.asByteArray()}) or a {@code String}, so it also works
+     * with RestAssured's {@code body(...)} assertions.
+     *
+     * @param name The classpath resource name of the schema.
+     * @return the matcher.
+     */
+    public static Matcher<Object> matchesSchema(String name) {
+        return matchers.computeIfAbsent(name, SchemaMatcher::new);
+    }
+
+    /**
+     * Hamcrest matcher backed by a compiled schema.
+     */
+    private static final class SchemaMatcher extends TypeSafeDiagnosingMatcher<Object> {
+
+        /**
+         * The classpath resource name of the schema.
+         */
+        private final String name;
+
+        /**
+         * The compiled schema.
+         */
+        private final JsonSchema schema;
+
+        /**
+         * Creates a matcher for a schema.
+         *
+         * @param name The classpath resource name of the schema.
+         */
+        SchemaMatcher(String name) {
+            this.name = name;
+            this.schema = schema(name);
+        }
+
+        @Override
+        protected boolean matchesSafely(Object body, Description mismatch) {
+            JsonNode node;
+            try {
+                if (body instanceof JsonNode json) {
+                    node = json;
+                } else if (body instanceof byte[] bytes) {
+                    node = reader.readTree(bytes);
+                } else if (body instanceof String text) {
+                    node = reader.readTree(text);
+                } else {
+                    mismatch.appendText("unsupported body type ").appendValue(body.getClass().getName());
+                    return false;
+                }
+            } catch (IOException e) {
+                mismatch.appendText("body is not valid JSON: ").appendText(e.getMessage());
+                return false;
+            }
+            ProcessingReport report = schema.validateUnchecked(node);
+            if (!report.isSuccess()) {
+                mismatch.appendText(report.toString());
+            }
+            return report.isSuccess();
+        }
+
+        @Override
+        public void describeTo(Description description) {
+            description.appendText("JSON matching schema ").appendValue(name);
+        }
+    }
+}
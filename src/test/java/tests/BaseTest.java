@@ -1,61 +1,96 @@
 package tests;
 
-import com.aventstack.extentreports.ExtentReports;
-import com.aventstack.extentreports.ExtentTest;
-import com.aventstack.extentreports.reporter.ExtentSparkReporter;
-import io.restassured.RestAssured;
+import org.intigral.assignment.client.ApiClients;
+import org.intigral.assignment.client.ApiRequest;
+import org.intigral.assignment.client.CachingApiClient;
+import org.intigral.assignment.fixtures.FixtureScheduler;
+import org.intigral.assignment.server.BookingStubServer;
+import org.intigral.assignment.utils.BookingRegistry;
 import org.intigral.assignment.utils.ConfigManager;
 import org.testng.annotations.AfterSuite;
-import org.testng.annotations.BeforeClass;
 import org.testng.annotations.BeforeSuite;
 
 /**
- * Base class for all test classes, providing setup and teardown functionalities
- * for ExtentReports and RestAssured configurations.
+ * Base class for all test classes, providing setup and teardown functionalities.
+ * Reporting is owned by the ExtentReportListener. Requests go through the shared,
+ * thread-safe client of the configured {@code clientEngine}, so test methods, classes
+ * and data-provider rows can run in parallel. Data shared between tests comes from
+ * typed fixtures built once per suite by a {@link FixtureScheduler}.
  */
 public class BaseTest {
 
     /**
-     * Shared instance of ExtentReports for generating test reports.
+     * Fixtures of the running suite.
      */
-    protected static ExtentReports extent;
+    private static volatile FixtureScheduler fixtures;
 
     /**
-     * Shared instance of ExtentTest for managing individual test logs.
+     * Resolves the base URI from the properties file, or the in-process booking
+     * stub server when {@code stubServerEnabled} is set.
+     *
+     * @return the base URI requests are sent to.
      */
-    protected static ExtentTest test;
+    protected static String baseUri() {
+        if (ConfigManager.config().stubServerEnabled()) {
+            return BookingStubServer.shared().baseUri();
+        }
+        return ConfigManager.config().baseUrl();
+    }
+
+    /**
+     * Starts a new request to the configured base URI.
+     *
+     * @return a request on the configured client engine.
+     */
+    protected ApiRequest request() {
+        return ApiClients.forBaseUri(baseUri()).given();
+    }
 
     /**
-     * Sets up the ExtentReports configuration and initializes the reporting system.
+     * Gets the fixtures of the running suite.
+     *
+     * @return the fixture scheduler.
+     */
+    protected static FixtureScheduler fixtures() {
+        return fixtures;
+    }
+
+    /**
+     * Creates the suite's fixture scheduler.
      * Executed once before the entire test suite starts.
      */
-    @BeforeSuite
-    public void setupReport() {
-        ExtentSparkReporter spark = new ExtentSparkReporter("target/ExtentReport.html");
-        spark.config().setReportName("API Test Report");
-        spark.config().setDocumentTitle("Extent Report");
-
-        extent = new ExtentReports();
-        extent.attachReporter(spark);
-        extent.setSystemInfo("Environment", "Test");
-        extent.setSystemInfo("Tester", "Your Name");
+    @BeforeSuite(alwaysRun = true)
+    public void startFixtures() {
+        fixtures = new FixtureScheduler();
     }
 
     /**
-     * Configures the RestAssured base URI from the properties file.
-     * Executed before each test class.
+     * Waits for fixtures still being built, prints the response cache counts when {@code responseCacheEnabled} is set,
+     * then deletes every booking the suite created and did not delete itself, with at most
+     * {@code cleanupParallelism} concurrent requests, when {@code cleanupEnabled} is set.
+     * Executed once after the entire test suite completes.
      */
-    @BeforeClass
-    public void setup() {
-        RestAssured.baseURI = ConfigManager.get("baseUrl");
+    @AfterSuite(alwaysRun = true)
+    public void cleanUpBookings() {
+        if (fixtures != null) {
+            fixtures.close();
+        }
+        if (ApiClients.forBaseUri(baseUri()) instanceof CachingApiClient cache) {
+            System.out.println("Response cache: " + cache.stats());
+        }
+        if (!ConfigManager.getBoolean("cleanupEnabled") || BookingRegistry.size() == 0) {
+            return;
+        }
+        BookingRegistry.Cleanup cleanup = BookingRegistry.deleteAll(ConfigManager.config().cleanupParallelism());
+        System.out.println("Cleaned up bookings: " + cleanup.deleted() + " deleted, " + cleanup.failed() + " failed");
     }
 
     /**
-     * Finalizes the ExtentReports by flushing the report to a file.
+     * Stops the booking stub server if it was started for this suite, after the bookings were cleaned up.
      * Executed once after the entire test suite completes.
      */
-    @AfterSuite
-    public void tearDownReport() {
-        extent.flush();
+    @AfterSuite(alwaysRun = true, dependsOnMethods = "cleanUpBookings")
+    public void stopStubServer() {
+        BookingStubServer.stopShared();
     }
 }
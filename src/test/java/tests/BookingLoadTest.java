@@ -0,0 +1,25 @@
+package tests;
+
+import org.intigral.assignment.load.LoadGenerator;
+import org.intigral.assignment.load.LoadProfile;
+import org.intigral.assignment.load.LoadReport;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+/**
+ * Load test driving the configured open-model {@link LoadProfile} against the booking API.
+ * Run it through {@code testng-load.xml}; set {@code stubServerEnabled=true} to run offline.
+ */
+public class BookingLoadTest extends BaseTest {
+
+    /**
+     * Runs the configured load profile and verifies that no request failed.
+     */
+    @Test
+    public void constantArrivalRateLoad() {
+        LoadReport report = new LoadGenerator(baseUri()).run(LoadProfile.fromConfig());
+        System.out.println(report.format());
+
+        Assert.assertEquals(report.getTotalErrors(), 0, "Load run had failed requests!");
+    }
+}
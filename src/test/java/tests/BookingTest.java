@@ -1,89 +1,127 @@
 package tests;
 
-import io.restassured.http.ContentType;
-import io.restassured.response.Response;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.RestAssured;
+import org.intigral.assignment.annotations.LatencyBudget;
+import org.intigral.assignment.client.ApiClients;
+import org.intigral.assignment.client.ApiRequest;
+import org.intigral.assignment.client.ApiResponse;
+import org.intigral.assignment.data.BookingCase;
+import org.intigral.assignment.data.BookingCases;
+import org.intigral.assignment.fixtures.BookingPool;
+import org.intigral.assignment.fixtures.Fixture;
+import org.intigral.assignment.listeners.ExtentReportListener;
+import org.intigral.assignment.listeners.LatencyBudgetListener;
+import org.intigral.assignment.load.LifecycleEngine;
+import org.intigral.assignment.load.LifecycleReport;
 import org.intigral.assignment.models.Booking;
+import org.intigral.assignment.models.BookingCodec;
 import org.intigral.assignment.models.BookingDates;
+import org.intigral.assignment.models.BookingResponse;
+import org.intigral.assignment.utils.AuthTokenProvider;
 import org.intigral.assignment.utils.ConfigManager;
 import org.testng.Assert;
+import org.testng.annotations.BeforeClass;
 import org.testng.annotations.DataProvider;
 import org.testng.annotations.Listeners;
 import org.testng.annotations.Test;
 
-import static io.restassured.RestAssured.given;
-import static io.restassured.module.jsv.JsonSchemaValidator.matchesJsonSchemaInClasspath;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+
+import static org.intigral.assignment.utils.SchemaRegistry.matchesSchema;
 
 /**
  * Test class for validating API operations related to booking functionality.
  * Implements test cases for various scenarios such as valid, invalid, and special input handling.
  */
-@Listeners(org.intigral.assignment.listeners.ExtentReportListener.class)
+@Listeners({ExtentReportListener.class, LatencyBudgetListener.class})
 public class BookingTest extends BaseTest {
 
     /**
-     * Stores the booking ID created during tests for validation purposes.
+     * A valid booking created once per suite for the tests that create or read back a booking.
      */
-    private int bookingId;
-
-    /**
-     * Test to create a booking with valid data and verify its creation.
-     */
-    @Test(priority = 1)
-    public void addBooking() {
+    private static final Fixture<BookingResponse> CREATED_BOOKING = Fixture.of("createdBooking", results -> {
         BookingDates bookingDates = new BookingDates("2022-01-01", "2024-01-01");
         Booking booking = createBooking("testFirstName", "lastName", 10.11, true, bookingDates, "testAdd");
 
-        Response response = given()
-                .contentType(ContentType.JSON)
-                .body(booking)
-                .log().all()
+        return ApiClients.forBaseUri(baseUri()).given()
+                .contentType(ApiRequest.JSON)
+                .body(BookingCodec.toBytes(booking))
                 .when()
-                .post(ConfigManager.get("addBookingEndpoint"))
+                .post(ConfigManager.config().bookingEndpoint())
                 .then()
-                .log().all()
-                .extract().response();
+                .statusCode(200)
+                .extract()
+                .booking();
+    });
 
-        Assert.assertEquals(response.statusCode(), 200, "Booking creation failed!");
+    /**
+     * Bookings created up front for the tests that read or modify an existing booking. Provisioned
+     * only once a single booking could be created, so a broken create endpoint skips those tests.
+     */
+    private static final Fixture<BookingPool> BOOKING_POOL = Fixture.of("bookingPool", results ->
+            new BookingPool(ApiClients.forBaseUri(baseUri()), ConfigManager.config().bookingEndpoint(),
+                    ConfigManager.config().bookingPoolSize(),
+                    () -> createBooking("testFirstName", "lastName", 10.11, true,
+                            new BookingDates("2022-01-01", "2024-01-01"), "testAdd"))
+                    .fill(), CREATED_BOOKING);
 
-        bookingId = response.jsonPath().getInt("bookingid");
-        Assert.assertTrue(bookingId > 0, "Invalid booking ID!");
+    /**
+     * Starts provisioning the booking pool without waiting for it, so it fills while other tests run.
+     * Executed once before the first test of the class.
+     */
+    @BeforeClass(alwaysRun = true)
+    public void provisionBookingPool() {
+        fixtures().start(BOOKING_POOL);
+    }
+
+    /**
+     * Test to create a booking with valid data and verify its creation.
+     */
+    @Test
+    public void addBooking() {
+        BookingResponse created = fixtures().get(CREATED_BOOKING);
+        Assert.assertTrue(created.bookingId() > 0, "Invalid booking ID!");
     }
 
     /**
      * Test to validate the details of a booking using its booking ID.
-     * Depends on {@link #addBooking()}.
+     * Reads a booking leased from the pool, and is skipped if the pool could not be provisioned.
      */
-    @Test(priority = 2, dependsOnMethods = {"addBooking"})
+    @Test
+    @LatencyBudget(endpoint = "GET /booking/{id}", p95Millis = 4000)
     public void validateBooking() {
-        Response response = given()
-                .when()
-                .get(ConfigManager.get("addBookingEndpoint") + "/" + bookingId)
-                .then()
-                .log().all()
-                .extract().response();
+        ApiResponse response;
+        try (BookingPool.Lease lease = fixtures().require(BOOKING_POOL).lease()) {
+            response = request()
+                    .when()
+                    .get(ConfigManager.config().bookingEndpoint() + "/" + lease.booking().bookingId())
+                    .then()
+                    .extract();
+        }
 
         Assert.assertEquals(response.statusCode(), 200, "Booking retrieval failed!");
 
-        String firstname = response.jsonPath().getString("firstname");
-        Assert.assertEquals(firstname, "testFirstName", "Firstname does not match!");
+        Booking booking = response.booking().booking();
+        Assert.assertNotNull(booking, "Booking missing from response!");
+        Assert.assertEquals(booking.getFirstname(), "testFirstName", "Firstname does not match!");
     }
 
     /**
      * Test to add a booking with invalid (empty) data and verify the failure response.
      */
-    @Test(priority = 3)
+    @Test
     public void addBookingWithInvalidData() {
         Booking booking = new Booking(); // Empty object to simulate missing data
 
-        Response response = given()
-                .contentType(ContentType.JSON)
-                .body(booking)
-                .log().all()
+        ApiResponse response = request()
+                .contentType(ApiRequest.JSON)
+                .body(BookingCodec.toBytes(booking))
                 .when()
-                .post(ConfigManager.get("addBookingEndpoint"))
+                .post(ConfigManager.config().bookingEndpoint())
                 .then()
-                .log().all()
-                .extract().response();
+                .extract();
 
         Assert.assertEquals(response.statusCode(), 400, "Invalid booking should return 400!");
     }
@@ -91,7 +129,7 @@ public class BookingTest extends BaseTest {
     /**
      * Test to add a booking with invalid date range and verify the failure response.
      */
-    @Test(priority = 4)
+    @Test
     public void addBookingWithInvalidDates() {
         BookingDates bookingDates = new BookingDates("2024-01-01", "2022-01-01"); // Invalid date range
 
@@ -99,15 +137,13 @@ public class BookingTest extends BaseTest {
 
         Booking booking = createBooking("testFirstName", "lastName", 10.11, true, bookingDates, "testAdd");
 
-        Response response = given()
-                .contentType(ContentType.JSON)
-                .body(booking)
-                .log().all()
+        ApiResponse response = request()
+                .contentType(ApiRequest.JSON)
+                .body(BookingCodec.toBytes(booking))
                 .when()
-                .post(ConfigManager.get("addBookingEndpoint"))
+                .post(ConfigManager.config().bookingEndpoint())
                 .then()
-                .log().all()
-                .extract().response();
+                .extract();
 
         Assert.assertEquals(response.statusCode(), 400, "Invalid date range should return 400!");
     }
@@ -115,59 +151,84 @@ public class BookingTest extends BaseTest {
     /**
      * Test to add a booking with empty booking dates and verify the failure response.
      */
-    @Test(priority = 5)
+    @Test
     public void addBookingWithEmptyBookingDates() {
         Booking booking = createBooking("testFirstName", "lastName", 10.11, true, null, "testAdd");
 
-        Response response = given()
-                .contentType(ContentType.JSON)
-                .body(booking)
-                .log().all()
+        ApiResponse response = request()
+                .contentType(ApiRequest.JSON)
+                .body(BookingCodec.toBytes(booking))
                 .when()
-                .post(ConfigManager.get("addBookingEndpoint"))
+                .post(ConfigManager.config().bookingEndpoint())
                 .then()
-                .log().all()
-                .extract().response();
+                .extract();
 
         Assert.assertEquals(response.statusCode(), 400, "Missing booking dates should return 400!");
     }
 
     /**
      * Test to validate the response schema of a booking.
+     * Reads a booking leased from the pool, and is skipped if the pool could not be provisioned.
      */
-    @Test(priority = 6)
+    @Test
     public void validateBookingResponseSchema() {
-        Response response = given()
+        try (BookingPool.Lease lease = fixtures().require(BOOKING_POOL).lease()) {
+            request()
+                    .when()
+                    .get(ConfigManager.config().bookingEndpoint() + "/" + lease.booking().bookingId())
+                    .then()
+                    .statusCode(200)
+                    .body(matchesSchema("booking_schema.json"));
+        }
+    }
+
+    /**
+     * Test to update a booking and verify the stored result.
+     * Checks a booking out of the pool exclusively, since it is modified.
+     */
+    @Test
+    public void updateBooking() {
+        BookingResponse existing = fixtures().require(BOOKING_POOL).checkout();
+        Booking update = Booking.builder()
+                .firstname(existing.booking().getFirstname())
+                .lastname(existing.booking().getLastname())
+                .totalprice(existing.booking().getTotalprice())
+                .depositpaid(existing.booking().isDepositpaid())
+                .bookingdates(existing.booking().getBookingdates())
+                .additionalneeds("updated")
+                .build();
+
+        Booking stored = request()
+                .contentType(ApiRequest.JSON)
+                .cookie("token", AuthTokenProvider.forBaseUri(baseUri()).token())
+                .body(BookingCodec.toBytes(update))
                 .when()
-                .get(ConfigManager.get("addBookingEndpoint") + "/" + bookingId)
+                .put(ConfigManager.config().bookingEndpoint() + "/" + existing.bookingId())
                 .then()
-                .log().all()
-                .extract().response();
+                .statusCode(200)
+                .extract()
+                .booking()
+                .booking();
 
-        try {
-            response.then().assertThat().body(matchesJsonSchemaInClasspath("booking_schema.json"));
-        } catch (Exception e) {
-            Assert.fail("Schema validation failed: " + e.getMessage());
-        }
+        Assert.assertNotNull(stored, "Booking missing from response!");
+        Assert.assertEquals(stored.getAdditionalneeds(), "updated", "Additional needs were not updated!");
     }
 
     /**
      * Test to create a booking with special characters in the firstname and lastname fields.
      */
-    @Test(priority = 7)
+    @Test
     public void addBookingWithSpecialCharacters() {
         BookingDates bookingDates = new BookingDates("2023-01-01", "2023-01-10");
         Booking booking = createBooking("!@#$%^&*", "()_+", 10.11, true, bookingDates, "testAdd");
 
-        Response response = given()
-                .contentType(ContentType.JSON)
-                .body(booking)
-                .log().all()
+        ApiResponse response = request()
+                .contentType(ApiRequest.JSON)
+                .body(BookingCodec.toBytes(booking))
                 .when()
-                .post(ConfigManager.get("addBookingEndpoint"))
+                .post(ConfigManager.config().bookingEndpoint())
                 .then()
-                .log().all()
-                .extract().response();
+                .extract();
 
         Assert.assertEquals(response.statusCode(), 200, "Special character handling failed!");
     }
@@ -177,7 +238,7 @@ public class BookingTest extends BaseTest {
      *
      * @return An array of invalid booking test data.
      */
-    @DataProvider(name = "invalidBookingData")
+    @DataProvider(name = "invalidBookingData", parallel = true)
     public Object[][] invalidBookingData() {
         return new Object[][]{
                 {"", "lastName", 10.11, true}, // Missing firstname
@@ -195,23 +256,114 @@ public class BookingTest extends BaseTest {
      * @param totalprice  Total price for the booking.
      * @param depositpaid Deposit status for the booking.
      */
-    @Test(dataProvider = "invalidBookingData", priority = 8)
+    @Test(dataProvider = "invalidBookingData")
     public void addBookingWithInvalidInputs(String firstname, String lastname, double totalprice, boolean depositpaid) {
         Booking booking = createBooking(firstname, lastname, totalprice, depositpaid, null, "testAdd");
 
-        Response response = given()
-                .contentType(ContentType.JSON)
-                .body(booking)
-                .log().all()
+        ApiResponse response = request()
+                .contentType(ApiRequest.JSON)
+                .body(BookingCodec.toBytes(booking))
                 .when()
-                .post(ConfigManager.get("addBookingEndpoint"))
+                .post(ConfigManager.config().bookingEndpoint())
                 .then()
-                .log().all()
-                .extract().response();
+                .extract();
 
         Assert.assertEquals(response.statusCode(), 400, "Invalid booking should return 400!");
     }
 
+    /**
+     * Data provider streaming generated booking variants, built on demand so large
+     * datasets keep memory flat. Coverage and size come from {@code generatedBookingCoverage}
+     * and {@code generatedBookingLimit}.
+     *
+     * @return A lazy iterator of generated booking cases.
+     */
+    @DataProvider(name = "generatedBookings", parallel = true)
+    public Iterator<Object[]> generatedBookings() {
+        return BookingCases.iterator(ConfigManager.get("generatedBookingCoverage"),
+                ConfigManager.getInt("generatedBookingLimit"));
+    }
+
+    /**
+     * Test to add generated booking variants and verify the status each case expects.
+     * Accepted bookings must echo the names back unchanged.
+     *
+     * @param bookingCase The generated booking and its expected status.
+     */
+    @Test(dataProvider = "generatedBookings")
+    public void addGeneratedBooking(BookingCase bookingCase) {
+        ApiResponse response = request()
+                .contentType(ApiRequest.JSON)
+                .body(BookingCodec.toBytes(bookingCase.booking()))
+                .when()
+                .post(ConfigManager.config().bookingEndpoint())
+                .then()
+                .extract();
+
+        Assert.assertEquals(response.statusCode(), bookingCase.expectedStatus(), "Unexpected status for " + bookingCase);
+        if (bookingCase.expectedStatus() == 200) {
+            Booking created = response.booking().booking();
+            Assert.assertNotNull(created, "Booking missing from response!");
+            Assert.assertEquals(created.getFirstname(), bookingCase.booking().getFirstname(), "Firstname does not match!");
+            Assert.assertEquals(created.getLastname(), bookingCase.booking().getLastname(), "Lastname does not match!");
+        }
+    }
+
+    /**
+     * Data provider for bookings the codec must serialize like RestAssured's Jackson 2 mapper:
+     * characters Gson would HTML-escape, quotes and control characters, non-ASCII text,
+     * {@code null} fields, an empty booking and malformed dates.
+     *
+     * @return An array of bookings.
+     */
+    @DataProvider(name = "codecBookings")
+    public Object[][] codecBookings() {
+        return new Object[][]{
+                {createBooking("O'Brien & <Sons>", "a=b \"quoted\" \\ /", 10.11, true,
+                        new BookingDates("2022-01-01", "2024-01-01"), "tab\tline\nbell\u0007")},
+                {createBooking("Zoë", "Łukasz 日本", 123456789.125, false,
+                        new BookingDates("2024-02-29", "2024-03-01"), "é")},
+                {createBooking(null, null, 0, false, null, null)},
+                {createBooking("testFirstName", null, 1e-7, true, new BookingDates("2022-13-01", null), null)},
+                {new Booking()},
+        };
+    }
+
+    /**
+     * Test that the codec writes the same bytes as the Jackson 2 mapper RestAssured applied to
+     * {@code body(booking)} before bodies were sent as bytes. Jackson also writes the derived
+     * {@code dateRangeValid} flag, which the codec leaves out, so it is removed wherever Jackson
+     * places it before comparing.
+     *
+     * @param booking The booking to serialize.
+     * @throws Exception if Jackson fails to serialize the booking.
+     */
+    @Test(dataProvider = "codecBookings")
+    public void codecMatchesRestAssuredMapping(Booking booking) throws Exception {
+        ObjectMapper mapper = RestAssured.config().getObjectMapperConfig()
+                .jackson2ObjectMapperFactory().create(Booking.class, "UTF-8");
+        String expected = new String(mapper.writeValueAsBytes(booking), StandardCharsets.UTF_8)
+                .replaceAll("\"dateRangeValid\":(true|false),|,\"dateRangeValid\":(true|false)", "");
+
+        Assert.assertEquals(new String(BookingCodec.toBytes(booking), StandardCharsets.UTF_8), expected,
+                "Codec output differs from the RestAssured mapping!");
+    }
+
+    /**
+     * Test to run many independent create, get, update and delete lifecycles concurrently
+     * and verify every step of every lifecycle. Size and concurrency come from
+     * {@code lifecycleCount} and {@code lifecycleMaxInFlight}.
+     */
+    @Test
+    public void validateBookingLifecycles() {
+        LifecycleReport report = new LifecycleEngine(baseUri(), ConfigManager.config().lifecycleMaxInFlight())
+                .run(ConfigManager.getInt("lifecycleCount"));
+        System.out.print(report.format());
+
+        Assert.assertEquals(report.getFailed(), 0, "Booking lifecycles failed: " + report.getFailures());
+        Assert.assertEquals(report.getPassed(), ConfigManager.getInt("lifecycleCount"), "Not every lifecycle completed!");
+    }
+
     /**
      * Utility method for creating a booking object.
      *
@@ -223,7 +375,7 @@ public class BookingTest extends BaseTest {
      * @param additionalneeds Additional needs for the booking.
      * @return A booking object.
      */
-    private Booking createBooking(String firstname, String lastname, double totalprice, boolean depositpaid, BookingDates bookingDates, String additionalneeds) {
+    private static Booking createBooking(String firstname, String lastname, double totalprice, boolean depositpaid, BookingDates bookingDates, String additionalneeds) {
         Booking booking = new Booking();
         booking.setFirstname(firstname);
         booking.setLastname(lastname);
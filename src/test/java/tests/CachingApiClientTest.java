@@ -0,0 +1,211 @@
+package tests;
+
+import org.intigral.assignment.client.ApiClient;
+import org.intigral.assignment.client.ApiRequest;
+import org.intigral.assignment.client.ApiResponse;
+import org.intigral.assignment.client.CachingApiClient;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Unit tests of the {@link CachingApiClient} response cache, run against a fake delegate that sends no requests.
+ * Reads that overlap a write are started with {@code sendAsync} and held by the fake until the write has been sent.
+ */
+public class CachingApiClientTest {
+
+    /**
+     * Path of the booking read by the tests.
+     */
+    private static final String BOOKING = "/booking/1";
+
+    /**
+     * Test to verify a repeated read is served from the cache without reaching the delegate.
+     */
+    @Test
+    public void repeatedReadIsServedFromCache() {
+        FakeApiClient delegate = new FakeApiClient();
+        CachingApiClient cache = new CachingApiClient(delegate, 16, 60_000);
+
+        ApiResponse first = cache.given().get(BOOKING);
+        Assert.assertSame(cache.given().get(BOOKING), first, "Repeated read was not served from the cache!");
+
+        Assert.assertEquals(delegate.calls, List.of("GET " + BOOKING), "Unexpected delegate calls!");
+        assertStats(cache, 1, 0, 1);
+    }
+
+    /**
+     * Test to verify a read that overlapped the creation of another booking in the collection is still stored.
+     */
+    @Test
+    public void readOverlappingCreateIsStored() {
+        FakeApiClient delegate = new FakeApiClient();
+        CachingApiClient cache = new CachingApiClient(delegate, 16, 60_000);
+
+        delegate.holdReads = true;
+        CompletableFuture<ApiResponse> read = cache.given().sendAsync("GET", BOOKING);
+        cache.given().contentType(ApiRequest.JSON).body(new byte[]{'{', '}'}).post("/booking");
+        delegate.releaseReads();
+
+        Assert.assertSame(cache.given().get(BOOKING), read.join(), "Read overlapping a create was not stored!");
+        Assert.assertEquals(delegate.calls, List.of("GET " + BOOKING, "POST /booking"), "Unexpected delegate calls!");
+        assertStats(cache, 1, 0, 1);
+    }
+
+    /**
+     * Test to verify a read that overlapped an update of its own booking is not stored, and the next read is.
+     */
+    @Test
+    public void readOverlappingUpdateIsNotStored() {
+        FakeApiClient delegate = new FakeApiClient();
+        CachingApiClient cache = new CachingApiClient(delegate, 16, 60_000);
+
+        delegate.holdReads = true;
+        CompletableFuture<ApiResponse> read = cache.given().sendAsync("GET", BOOKING);
+        cache.given().contentType(ApiRequest.JSON).body(new byte[]{'{', '}'}).put(BOOKING);
+        delegate.releaseReads();
+        read.join();
+
+        ApiResponse reread = cache.given().get(BOOKING);
+        Assert.assertNotSame(reread, read.join(), "Read overlapping an update was stored!");
+        Assert.assertSame(cache.given().get(BOOKING), reread, "Read after the update was not served from the cache!");
+        Assert.assertEquals(delegate.calls, List.of("GET " + BOOKING, "PUT " + BOOKING, "GET " + BOOKING),
+                "Unexpected delegate calls!");
+        assertStats(cache, 1, 0, 2);
+    }
+
+    /**
+     * Test to verify a write drops the cached entry of its booking.
+     */
+    @Test
+    public void writeInvalidatesEntry() {
+        FakeApiClient delegate = new FakeApiClient();
+        CachingApiClient cache = new CachingApiClient(delegate, 16, 60_000);
+
+        ApiResponse first = cache.given().get(BOOKING);
+        cache.given().delete(BOOKING);
+
+        Assert.assertNotSame(cache.given().get(BOOKING), first, "Read after a delete was served from the cache!");
+        assertStats(cache, 0, 0, 2);
+    }
+
+    /**
+     * Test to verify a stale entry with an {@code ETag} is served again after a {@code 304} revalidation.
+     */
+    @Test
+    public void staleEntryIsRevalidated() {
+        FakeApiClient delegate = new FakeApiClient();
+        CachingApiClient cache = new CachingApiClient(delegate, 16, 0);
+
+        ApiResponse first = cache.given().get(BOOKING);
+        delegate.notModified = true;
+
+        Assert.assertSame(cache.given().get(BOOKING), first, "Revalidated read did not return the cached response!");
+        Assert.assertEquals(delegate.calls, List.of("GET " + BOOKING, "GET " + BOOKING), "Unexpected delegate calls!");
+        assertStats(cache, 0, 1, 1);
+    }
+
+    /**
+     * Asserts the read counts of a cache.
+     *
+     * @param cache       The cache.
+     * @param hits        The expected reads served from a fresh entry.
+     * @param revalidated The expected reads served after a revalidation.
+     * @param misses      The expected reads that needed a full response.
+     */
+    private static void assertStats(CachingApiClient cache, long hits, long revalidated, long misses) {
+        CachingApiClient.Stats stats = cache.stats();
+        Assert.assertEquals(stats.hits(), hits, "Unexpected cache hits: " + stats);
+        Assert.assertEquals(stats.revalidated(), revalidated, "Unexpected cache revalidations: " + stats);
+        Assert.assertEquals(stats.misses(), misses, "Unexpected cache misses: " + stats);
+    }
+
+    /**
+     * Delegate answering every request with a new canned response, without any network call.
+     * Each {@code GET} gets an {@code ETag}, and writes get an empty {@code 200}.
+     */
+    private static final class FakeApiClient implements ApiClient {
+
+        /**
+         * Requests received, as method and path.
+         */
+        final List<String> calls = new ArrayList<>();
+
+        /**
+         * Whether asynchronous reads are held until {@link #releaseReads()}.
+         */
+        boolean holdReads;
+
+        /**
+         * Whether reads are answered with {@code 304 Not Modified}.
+         */
+        boolean notModified;
+
+        /**
+         * Completions of held asynchronous reads, oldest first.
+         */
+        private final Deque<Runnable> heldReads = new ArrayDeque<>();
+
+        /**
+         * Number of responses sent so far, written into each body.
+         */
+        private int sent;
+
+        /**
+         * Answers a request.
+         *
+         * @param method  The HTTP method.
+         * @param path    The path.
+         * @param request The request.
+         * @return a new response.
+         */
+        @Override
+        public ApiResponse send(String method, String path, ApiRequest request) {
+            calls.add(method + " " + path);
+            if (!"GET".equals(method)) {
+                return new ApiResponse(200, Map.of(), new byte[0]);
+            }
+            if (notModified) {
+                return new ApiResponse(304, Map.of(), new byte[0]);
+            }
+            return new ApiResponse(200, Map.of("ETag", List.of("\"" + ++sent + "\"")),
+                    ("{\"response\":" + sent + "}").getBytes(StandardCharsets.UTF_8));
+        }
+
+        /**
+         * Answers a request, holding reads while {@link #holdReads} is set.
+         *
+         * @param method  The HTTP method.
+         * @param path    The path.
+         * @param request The request.
+         * @return the future response.
+         */
+        @Override
+        public CompletableFuture<ApiResponse> sendAsync(String method, String path, ApiRequest request) {
+            ApiResponse response = send(method, path, request);
+            if (!holdReads || !"GET".equals(method)) {
+                return CompletableFuture.completedFuture(response);
+            }
+            CompletableFuture<ApiResponse> held = new CompletableFuture<>();
+            heldReads.add(() -> held.complete(response));
+            return held;
+        }
+
+        /**
+         * Completes the held reads and stops holding new ones.
+         */
+        void releaseReads() {
+            holdReads = false;
+            while (!heldReads.isEmpty()) {
+                heldReads.removeFirst().run();
+            }
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package tests;
+
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Test recording the main suite to a cassette against the stub server, then replaying it twice
+ * without any server in strict mode. Each run is a separate JVM running {@code testng.xml} with its
+ * parallel methods, so a replay only passes if every test gets the responses it recorded.
+ * Run it through {@code testng-cassette.xml}; its output goes to {@code target/cassette-replay}.
+ */
+public class CassetteReplayTest {
+
+    /**
+     * Directory of the cassette, logs and reports of the child runs.
+     */
+    private static final Path DIRECTORY = Path.of("target", "cassette-replay");
+
+    /**
+     * Records the suite once and verifies that two strict replays of it pass.
+     *
+     * @throws IOException if a run cannot be started.
+     * @throws InterruptedException if interrupted while waiting for a run.
+     */
+    @Test
+    public void recordedSuiteReplays() throws IOException, InterruptedException {
+        Files.createDirectories(DIRECTORY);
+        Path cassette = DIRECTORY.resolve("suite.cassette");
+        Files.deleteIfExists(cassette);
+
+        run("record", "-DstubServerEnabled=true", "-DcassetteMode=record", "-DcassettePath=" + cassette);
+        Assert.assertTrue(Files.isRegularFile(cassette), "Cassette was not written!");
+        for (int replay = 1; replay <= 2; replay++) {
+            run("replay-" + replay, "-DstubServerEnabled=false", "-DcassetteMode=replay",
+                    "-DcassetteStrict=true", "-DcassettePath=" + cassette);
+        }
+    }
+
+    /**
+     * Runs {@code testng.xml} in a new JVM and asserts that it passes.
+     *
+     * @param name       The run name, used for its log, report and results files.
+     * @param properties Configuration passed as system properties.
+     * @throws IOException if the run cannot be started.
+     * @throws InterruptedException if interrupted while waiting for the run.
+     */
+    private static void run(String name, String... properties) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.addAll(List.of(properties));
+        command.add("-DresultsPath=" + DIRECTORY.resolve(name + ".jsonl"));
+        command.add("-DreportPath=" + DIRECTORY.resolve(name + ".html"));
+        command.add("org.testng.TestNG");
+        command.add("-d");
+        command.add(DIRECTORY.resolve(name + "-testng").toString());
+        command.add("testng.xml");
+        Path log = DIRECTORY.resolve(name + ".log");
+        int exit = new ProcessBuilder(command).redirectErrorStream(true).redirectOutput(log.toFile()).start().waitFor();
+
+        Assert.assertEquals(exit, 0, "The " + name + " run failed, see " + log);
+    }
+}